@@ -1,40 +1,88 @@
 package com.finance.control;
 
+import com.finance.control.response.*;
 import com.finance.data.Bank;
 import com.finance.exception.NoUploadFileException;
 import com.finance.exception.NotFoundException;
+import com.finance.exception.UploadJobRejectedException;
 import com.finance.exception.WrongFormFileException;
+import com.finance.exception.WrongParameterException;
+import com.finance.forecast.ForecastModel;
+import com.finance.forecast.ForecastModels;
 import com.finance.model.BankSupports;
-import com.mixin.UploadResult;
+import com.finance.model.ForecastBacktest;
+import com.finance.model.SupportFilter;
+import com.finance.model.SupportForecast;
+import com.finance.model.UploadJob;
+import com.finance.model.UploadStatics;
+import com.mixin.ForecastMethod;
+import com.mixin.UploadMode;
+import com.finance.service.DatasetVersion;
 import com.finance.service.FinanceService;
+import com.finance.service.SupportSnapshotService;
+import com.finance.service.UploadJobService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartRequest;
 
-import java.math.BigDecimal;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.BiConsumer;
 
 @RestController
 @RequestMapping("/finance")
 public class FinanceController {
 
-    private final FinanceService financeService;
+    //NDJSON 응답 Content-Type
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String NDJSON_CONTENT_TYPE = NDJSON_MEDIA_TYPE + ";charset=UTF-8";
 
-    public FinanceController(FinanceService financeService) {
+    private final FinanceService financeService;
+    private final UploadJobService uploadJobService;
+    private final SupportSnapshotService supportSnapshotService;
+    private final DatasetVersion datasetVersion;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter objectWriter;
+
+    //마지막으로 응답한 금융기관 목록, 목록이 같으면 그대로 재사용
+    private volatile BanksResponse banksResponse;
+
+    public FinanceController(FinanceService financeService, UploadJobService uploadJobService,
+                             SupportSnapshotService supportSnapshotService,
+                             DatasetVersion datasetVersion, ObjectMapper objectMapper) {
         this.financeService = financeService;
+        this.uploadJobService = uploadJobService;
+        this.supportSnapshotService = supportSnapshotService;
+        this.datasetVersion = datasetVersion;
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer();
     }
 
     //데이터가 없는 경우 NOT FOUND
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
-    private Map<String, Object> dataNotFoundHandler(NotFoundException ex){
-        return new HashMap<>();
+    private EmptyResponse dataNotFoundHandler(NotFoundException ex){
+        return EmptyResponse.INSTANCE;
     }
 
     //1. 데이터 파일에서 각 레코드를 데이터베이스에 저장하는 API
     @PostMapping("/uploadSupportData")
-    private Map<String, Object> uploadSupportData (MultipartRequest request) throws Exception {
+    private UploadResponse uploadSupportData (MultipartRequest request,
+                                                   @RequestParam(value = "mode", defaultValue = "APPEND") UploadMode mode) throws Exception {
 
         //받아온 파일 업로드 수행
         MultipartFile supportDataFile = request.getFile("file");
@@ -42,40 +90,104 @@ public class FinanceController {
             throw new NoUploadFileException();
         }
 
-        String resultSave = financeService.saveUploadSupportData(supportDataFile.getBytes());
+        //파일 전체를 메모리에 올리지 않고 스트림으로 읽어서 저장
+        //실패하면 업로드 전체가 취소되고 통계 큐브, 금융기관 캐시를 DB 기준으로 다시 읽으므로, 성공, 실패 모두 응답 전에 데이터셋 버전 증가
+        UploadStatics uploadStatics;
+        try (InputStream fileStream = supportDataFile.getInputStream()) {
+            uploadStatics = financeService.streamUploadSupportData(fileStream, mode);
+        } finally {
+            datasetVersion.increment();
+        }
+
+        //성공한 업로드만 스냅샷 파일에 반영 (스냅샷 전용 스레드에서)
+        supportSnapshotService.scheduleWrite();
 
         //응답전문 작성
-        Map<String, Object> responseBody = new HashMap<>();
-        responseBody.put("result", resultSave);
+        return new UploadResponse(uploadStatics);
+    }
 
-        return responseBody;
+    //1. 데이터 파일에서 각 레코드를 데이터베이스에 저장하는 API (비동기, async=true)
+    //파일을 임시파일로 옮기고 작업 id 만 바로 응답, 진행상황은 업로드 작업 조회 API로 확인
+    @PostMapping(value = "/uploadSupportData", params = "async=true")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    private UploadJobResponse submitUploadSupportData (MultipartRequest request,
+                                                       @RequestParam(value = "mode", defaultValue = "APPEND") UploadMode mode) throws IOException {
+
+        MultipartFile supportDataFile = request.getFile("file");
+        if(supportDataFile == null){
+            throw new NoUploadFileException();
+        }
+
+        //요청이 끝나면 업로드 파일이 지워지므로, 작업이 끝날 때까지 임시파일로 보관 (작업이 끝나면 삭제)
+        Path file = Files.createTempFile("support-upload-", ".csv");
+        try {
+            supportDataFile.transferTo(file.toFile());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        return new UploadJobResponse(uploadJobService.submit(file, mode));
+    }
+
+    //1.1 비동기 업로드 작업 조회 (진행된 행 수, 초당 처리 행 수, 결과 또는 오류)
+    @GetMapping("/uploadJobs/{jobId}")
+    private UploadJobResponse findUploadJob(@PathVariable("jobId") String jobId){
+
+        UploadJob job = uploadJobService.findJob(jobId);
+
+        if(job == null){
+            throw new NotFoundException();
+        }
+
+        return new UploadJobResponse(job);
+    }
+
+    //1.2 서버의 가져오기 폴더(finance.import.dir)에 있는 파일을 저장하는 API (비동기, 대량 적재용)
+    //파일을 전송하지 않고 메모리 맵으로 읽으므로, 파일 크기와 관계없이 힙 사용량이 일정
+    @PostMapping("/admin/importSupportData")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    private UploadJobResponse importSupportData(@RequestParam("file") String fileName,
+                                                @RequestParam(value = "mode", defaultValue = "APPEND") UploadMode mode){
+
+        return new UploadJobResponse(uploadJobService.submitImport(fileName, mode));
+    }
+
+    //비동기 업로드 대기열이 가득 찬 경우 예외
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    private ResultResponse uploadJobRejectedHandler(UploadJobRejectedException ex){
+        return ResultResponse.BUSY;
     }
 
     //업로드된 파일이 없는 경우 예외
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    private Map<String, Object> noUploadFileHandler(NoUploadFileException ex){
-        //응답전문 작성
-        Map<String, Object> responseBody = new HashMap<>();
-        responseBody.put("result", UploadResult.NO_FILE);
-
-        return responseBody;
+    private ResultResponse noUploadFileHandler(NoUploadFileException ex){
+        return ResultResponse.NO_FILE;
     }
 
     //업로드된 파일이 잘못된 포맷인 경우 예외
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    private Map<String, Object> noUploadFileHandler(WrongFormFileException ex){
-        //응답전문 작성
-        Map<String, Object> responseBody = new HashMap<>();
-        responseBody.put("result", UploadResult.WRONG_FORM);
+    private ResultResponse noUploadFileHandler(WrongFormFileException ex){
+        return ResultResponse.WRONG_FORM;
+    }
 
-        return responseBody;
+    //요청 파라미터가 잘못된 경우 예외
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    private EmptyResponse wrongParameterHandler(WrongParameterException ex){
+        return EmptyResponse.INSTANCE;
     }
 
     //2. 전체 금융기관 목록을 조회
     @GetMapping("/findAllBanks")
-    private Map<String, Object> findAllBanks(){
+    private BanksResponse findAllBanks(ServletWebRequest request){
+
+        if(isNotModified(request, false)){
+            return null;
+        }
 
         List<Bank> banks = financeService.findAllBanks();
 
@@ -83,91 +195,198 @@ public class FinanceController {
             throw new NotFoundException();
         }
 
-        List<Map<String, String>> responseBanks = new ArrayList<>();
-        Map<String, String> responseBank;
-        for(Bank bank : banks){
-            responseBank = new HashMap<>();
-            responseBank.put("bankName", bank.getBankName());
-            responseBanks.add(responseBank);
+        //응답전문 작성 (목록이 바뀐 경우에만 새로 만듦)
+        BanksResponse responseBody = banksResponse;
+        if(responseBody == null || !responseBody.matches(banks)){
+            responseBody = BanksResponse.of(banks);
+            banksResponse = responseBody;
         }
 
-        //응답전문 작성
-        Map<String, Object> responseBody = new HashMap<>();
-        responseBody.put("banks", responseBanks);
-
         return responseBody;
     }
 
     //3. 연도별 각 금융기관의 지원금액 합계를 출력하는 API
+    //연도별 응답 객체를 모두 만들지 않고, 연도 순서대로 집계하면서 JsonGenerator 로 바로 출력
+    //조회 조건 (선택) : fromYear, toYear, months(1,2,3), banks(금융기관명 목록)
     @GetMapping("/findSupportStatics")
-    private Map<String, Object> findSupportStatics(){
+    private void findSupportStatics(
+            @RequestParam(value = "fromYear", required = false) Integer fromYear,
+            @RequestParam(value = "toYear", required = false) Integer toYear,
+            @RequestParam(value = "months", required = false) List<Integer> months,
+            @RequestParam(value = "banks", required = false) List<String> banks,
+            ServletWebRequest request) throws IOException {
 
-        Map<String, List<BankSupports>> supportStatics = financeService.findSupportStatics();
+        //같은 URL 에서 Accept 로 JSON, NDJSON 을 고르므로, 캐시가 두 응답을 따로 보관하도록 (304, 400 응답 포함)
+        request.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
 
-        if(supportStatics.size() == 0) {
+        //잘못된 조건은 캐시 상태와 관계없이 400 이 되도록 조건부 요청 확인 전에 검사
+        SupportFilter filter = new SupportFilter(fromYear, toYear, months, banks);
+
+        if(isNotModified(request, false)){
+            return;
+        }
+
+        writeSupportStatics(filter, request.getResponse(), false);
+    }
+
+    //3. 연도별 각 금융기관의 지원금액 합계를 출력하는 API (NDJSON, Accept: application/x-ndjson)
+    //한 줄에 한 연도씩, 집계되는 대로 출력
+    @GetMapping(value = "/findSupportStatics", produces = NDJSON_MEDIA_TYPE)
+    private void findSupportStaticsAsNdjson(
+            @RequestParam(value = "fromYear", required = false) Integer fromYear,
+            @RequestParam(value = "toYear", required = false) Integer toYear,
+            @RequestParam(value = "months", required = false) List<Integer> months,
+            @RequestParam(value = "banks", required = false) List<String> banks,
+            ServletWebRequest request) throws IOException {
+
+        request.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        //NDJSON 요청에는 JSON 오류 본문을 줄 수 없으므로 상태코드만
+        SupportFilter filter;
+        try {
+            filter = new SupportFilter(fromYear, toYear, months, banks);
+        } catch (WrongParameterException e) {
+            request.getResponse().setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        if(isNotModified(request, true)){
+            return;
+        }
+
+        writeSupportStatics(filter, request.getResponse(), true);
+    }
+
+    private void writeSupportStatics(SupportFilter filter, HttpServletResponse response, boolean ndjson) throws IOException {
+
+        SupportStaticsWriter staticsWriter = new SupportStaticsWriter(response, ndjson);
+
+        int yearCount;
+        try {
+            yearCount = financeService.streamSupportStatics(filter, staticsWriter);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        //한 연도도 없으면 아무것도 출력하지 않았으므로 NOT FOUND 응답
+        //NDJSON 요청에는 JSON 오류 본문을 줄 수 없으므로 상태코드만
+        if(yearCount == 0){
+            if(ndjson){
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
             throw new NotFoundException();
         }
 
-        List<Map<String, Object>> statics = new ArrayList<>();
-        Map<String, Object> yearlyStatics;
+        staticsWriter.close();
+    }
 
-        List<Map<String, Object>> yearlyStaticDetails;
-        Map<String, Object> yearlyStaticDetail;
+    //연도별 통계를 받는 대로 출력 (첫 연도를 받을 때 응답 시작)
+    //JSON : {"statics":[{"year":..,"totalAmount":..,"detailAmount":[{금융기관명:금액},..]},..]}
+    //NDJSON : 한 줄에 {"year":..,"totalAmount":..,"detailAmount":[..]}
+    private class SupportStaticsWriter implements BiConsumer<Integer, List<BankSupports>> {
 
-        BigDecimal yearlyTotal;
+        private final HttpServletResponse response;
+        private final boolean ndjson;
+        private JsonGenerator generator;
 
-        List<String> years = new ArrayList<>(supportStatics.keySet());
-        years.sort(Comparator.naturalOrder());
+        SupportStaticsWriter(HttpServletResponse response, boolean ndjson) {
+            this.response = response;
+            this.ndjson = ndjson;
+        }
 
-        for(String year : years){
-            yearlyStatics = new HashMap<>();
-            yearlyTotal = BigDecimal.ZERO;
-            yearlyStaticDetails = new ArrayList<>();
+        @Override
+        public void accept(Integer year, List<BankSupports> yearlyStatics) {
+            try {
+                if(generator == null){
+                    start();
+                }
 
-            for(BankSupports bankSupport : supportStatics.get(year)){
+                long yearlyTotal = 0;
+                for(BankSupports bankSupport : yearlyStatics){
+                    yearlyTotal += bankSupport.getSupportsTotal();
+                }
+
+                generator.writeStartObject();
+                generator.writeStringField("year", String.valueOf(year));
+                generator.writeNumberField("totalAmount", yearlyTotal);
+
+                generator.writeArrayFieldStart("detailAmount");
+                for(BankSupports bankSupport : yearlyStatics){
+                    generator.writeStartObject();
+                    generator.writeNumberField(bankSupport.getBank().getBankName(), bankSupport.getSupportsTotal());
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
 
-                yearlyTotal = yearlyTotal.add(bankSupport.getSupportsTotal());
+                generator.writeEndObject();
 
-                yearlyStaticDetail = new HashMap<>();
-                yearlyStaticDetail.put(
-                        bankSupport.getBank().getBankName(),
-                        bankSupport.getSupportsTotal()
-                );
-                yearlyStaticDetails.add(yearlyStaticDetail);
+                if(ndjson){
+                    generator.writeRaw('\n');
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+        }
+
+        private void start() throws IOException {
+
+            response.setContentType(ndjson ? NDJSON_CONTENT_TYPE : MediaType.APPLICATION_JSON_UTF8_VALUE);
 
-            yearlyStatics.put("year", year);
-            yearlyStatics.put("totalAmount", yearlyTotal.longValue());
-            yearlyStatics.put("detailAmount", yearlyStaticDetails);
+            generator = objectMapper.getFactory().createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
 
-            statics.add(yearlyStatics);
+            if(ndjson){
+                //줄바꿈으로 구분하므로 최상위 값 사이 공백 없이
+                generator.setRootValueSeparator(null);
+            }else{
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("statics");
+            }
         }
 
-        //응답전문 작성
-        Map<String, Object> responseBody = new HashMap<>();
-        responseBody.put("statics", statics);
+        void close() throws IOException {
 
-        return responseBody;
+            if(!ndjson){
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+
+            generator.close();
+        }
     }
 
     //4. 각 연도별 각 기관의 전체 지원금액 중에서 가장 큰 금액의 기관명을 출력하는 API
+    //조회 조건 (선택) : fromYear, toYear, months, banks
     @GetMapping("/findLargestSupportBank")
-    private Map<String, Object> findLargestSupportBank(){
+    private LargestSupportBankResponse findLargestSupportBank(
+            @RequestParam(value = "fromYear", required = false) Integer fromYear,
+            @RequestParam(value = "toYear", required = false) Integer toYear,
+            @RequestParam(value = "months", required = false) List<Integer> months,
+            @RequestParam(value = "banks", required = false) List<String> banks,
+            ServletWebRequest request){
+
+        SupportFilter filter = new SupportFilter(fromYear, toYear, months, banks);
+
+        if(isNotModified(request, false)){
+            return null;
+        }
 
-        Map<String, List<BankSupports>> supportStatics = financeService.findSupportStatics();
+        Map<Integer, List<BankSupports>> supportStatics = financeService.findSupportStatics(filter);
 
         if(supportStatics.size() == 0) {
             throw new NotFoundException();
         }
 
-        String largestYear = null;
+        Integer largestYear = null;
         String largestBank = null;
-        BigDecimal largestAmount = BigDecimal.ZERO;
+        long largestAmount = 0;
 
-        for(String year : supportStatics.keySet()){
+        for(Integer year : supportStatics.keySet()){
             for(BankSupports bankSupport : supportStatics.get(year)){
 
-                if(largestAmount.compareTo(bankSupport.getSupportsTotal()) < 0){
+                if(largestAmount < bankSupport.getSupportsTotal()){
                     largestYear = year;
                     largestBank = bankSupport.getBank().getBankName();
                     largestAmount = bankSupport.getSupportsTotal();
@@ -176,80 +395,216 @@ public class FinanceController {
         }
 
         //응답전문 작성
-        Map<String, Object> responseBody = new HashMap<>();
-        responseBody.put("year", largestYear);
-        responseBody.put("bank", largestBank);
-
-        return responseBody;
+        return new LargestSupportBankResponse(Objects.toString(largestYear, null), largestBank);
     }
 
     //5. 전체 년도에서 외환은행의 지원금액 평균 중에서 가장 작은 금액과 큰 금액을 출력하는 API
+    //조회 조건 (선택) : fromYear, toYear, months
     @GetMapping("/findBankSupportLargestAndSmallestAverage/KEB")
-    private Map<String, Object> findBankSupportLargestAndSmallestAverage(){
+    private AverageRangeResponse findBankSupportLargestAndSmallestAverage(
+            @RequestParam(value = "fromYear", required = false) Integer fromYear,
+            @RequestParam(value = "toYear", required = false) Integer toYear,
+            @RequestParam(value = "months", required = false) List<Integer> months,
+            ServletWebRequest request){
+
+        SupportFilter filter = new SupportFilter(fromYear, toYear, months, null);
+
+        if(isNotModified(request, false)){
+            return null;
+        }
 
         String bankName = "외환은행";
-        Map<String, BankSupports> bankSupportStatics = financeService.findSupportStaticsByBank(bankName);
+        Map<Integer, BankSupports> bankSupportStatics = financeService.findSupportStaticsByBank(bankName, filter);
 
         if(bankSupportStatics.isEmpty()) {
             throw new NotFoundException();
         }
 
-        String largestYear = null;
-        BigDecimal largestAmount = BigDecimal.valueOf(Long.MIN_VALUE);
+        Integer largestYear = null;
+        double largestAmount = Long.MIN_VALUE;
 
-        String smallestYear = null;
-        BigDecimal smallestAmount = BigDecimal.valueOf(Long.MAX_VALUE);
+        Integer smallestYear = null;
+        double smallestAmount = Long.MAX_VALUE;
 
         BankSupports bankSupport;
 
-        for(String year : bankSupportStatics.keySet()){
+        for(Integer year : bankSupportStatics.keySet()){
 
             bankSupport = bankSupportStatics.get(year);
 
-            if(largestAmount.compareTo(bankSupport.getSupportsAverage()) < 0){
+            if(largestAmount < bankSupport.getSupportsAverage()){
                 largestYear = year;
                 largestAmount = bankSupport.getSupportsAverage();
             }
 
-            if(smallestAmount.compareTo(bankSupport.getSupportsAverage()) > 0){
+            if(smallestAmount > bankSupport.getSupportsAverage()){
                 smallestYear = year;
                 smallestAmount = bankSupport.getSupportsAverage();
             }
         }
 
         //응답전문 작성
-        Map<String, Object> responseBody = new HashMap<>();
-
-        responseBody.put("largestYear", largestYear);
-        responseBody.put("largestAmount", largestAmount);
-        responseBody.put("smallestYear", smallestYear);
-        responseBody.put("smallestAmount", smallestAmount);
-        responseBody.put("bank", bankName);
-
-        return responseBody;
+        return new AverageRangeResponse(bankName, Objects.toString(largestYear, null), largestAmount,
+                Objects.toString(smallestYear, null), smallestAmount);
     }
 
     //6. 특정 은행의 특정 달에 대해서 2018 년도 해당 달에 금융지원 금액을 예측하는 API
     @PostMapping("/calcForecastMonthlySupportForBank")
-    private Map<String, Object> calcForecastMonthlySupportForBank(@RequestBody Map<String, Object> jsonParam){
+    private ForecastResponse calcForecastMonthlySupportForBank(@RequestBody Map<String, Object> jsonParam){
 
         String bankName = (String) jsonParam.get("bankName");
         String month = (String) jsonParam.get("month");
 
-        Map<String, Object> forecastData = financeService.calcForcastMontlySupportForBank(bankName, month);
+        Map<String, Object> forecastData =
+                financeService.calcForcastMontlySupportForBank(bankName, month, toForecastModel(jsonParam));
 
         if(forecastData.get("amount") == null){
             throw new NotFoundException();
         }
 
+        //응답전문 작성 (금융기관명 제외)
+        return new ForecastResponse(
+                (Long) forecastData.get("bankId"),
+                null,
+                (String) forecastData.get("year"),
+                (String) forecastData.get("month"),
+                (String) forecastData.get("model"),
+                (Long) forecastData.get("amount"));
+    }
+
+    //7. 특정 금융기관의 차년도 월별 금융지원 금액을 한번에 예측하는 API
+    @PostMapping("/calcForecastYearlySupportForBank")
+    private ForecastsResponse calcForecastYearlySupportForBank(@RequestBody Map<String, Object> jsonParam){
+
+        String bankName = (String) jsonParam.get("bankName");
+
+        List<SupportForecast> forecasts =
+                financeService.calcForecastYearlySupportForBank(bankName, toForecastModel(jsonParam));
+
+        if(forecasts.isEmpty()){
+            throw new NotFoundException();
+        }
+
         //응답전문 작성
-        Map<String, Object> responseBody = new HashMap<>();
+        return new ForecastsResponse(bankName, forecasts);
+    }
 
-        responseBody.put("bankId", forecastData.get("bankId"));
-        responseBody.put("year", forecastData.get("year"));
-        responseBody.put("month", forecastData.get("month"));
-        responseBody.put("amount", forecastData.get("amount"));
+    //8. 전체 금융기관의 차년도 월별 금융지원 금액을 한번에 예측하는 API
+    @GetMapping("/calcForecastYearlySupportForAllBanks")
+    private ForecastsResponse calcForecastYearlySupportForAllBanks(
+            @RequestParam(value = "model", defaultValue = "POLYNOMIAL") ForecastMethod model,
+            @RequestParam(value = "degree", defaultValue = "3") int degree,
+            @RequestParam(value = "alpha", defaultValue = "0.5") double alpha,
+            ServletWebRequest request){
 
-        return responseBody;
+        ForecastModel forecastModel = ForecastModels.of(model, degree, alpha);
+
+        if(isNotModified(request, false)){
+            return null;
+        }
+
+        List<SupportForecast> forecasts = financeService.calcForecastYearlySupportForAllBanks(forecastModel);
+
+        if(forecasts.isEmpty()){
+            throw new NotFoundException();
+        }
+
+        //응답전문 작성
+        return new ForecastsResponse(null, forecasts);
+    }
+
+    //9. 전체 금융기관의 차년도 월별 금융지원 금액을 병렬로 예측해서, 계산되는 대로 한 줄씩(NDJSON) 출력하는 API
+    @GetMapping("/streamForecastYearlySupportForAllBanks")
+    private void streamForecastYearlySupportForAllBanks(
+            @RequestParam(value = "model", defaultValue = "POLYNOMIAL") ForecastMethod model,
+            @RequestParam(value = "degree", defaultValue = "3") int degree,
+            @RequestParam(value = "alpha", defaultValue = "0.5") double alpha,
+            ServletWebRequest request) throws IOException {
+
+        ForecastModel forecastModel = ForecastModels.of(model, degree, alpha);
+
+        if(isNotModified(request, true)){
+            return;
+        }
+
+        HttpServletResponse response = request.getResponse();
+        response.setContentType(NDJSON_CONTENT_TYPE);
+        OutputStream responseStream = response.getOutputStream();
+
+        int forecastCount;
+        try {
+            forecastCount = financeService.streamForecastYearlySupportForAllBanks(forecastModel, forecast -> {
+                try {
+                    responseStream.write(objectWriter.writeValueAsBytes(ForecastResponse.of(forecast)));
+                    responseStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        //한 건도 출력하지 않은 경우, NDJSON 헤더를 지우고 NOT FOUND (상태코드만)
+        if(forecastCount == 0){
+            response.reset();
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        }
+    }
+
+    //10. 예측 모델을 전체 금융기관 x 월 시리즈에 rolling-origin 방식으로 백테스트해서 오차를 출력하는 API
+    @GetMapping("/backtestForecastModel")
+    private BacktestResponse backtestForecastModel(
+            @RequestParam(value = "model", defaultValue = "POLYNOMIAL") ForecastMethod model,
+            @RequestParam(value = "degree", defaultValue = "3") int degree,
+            @RequestParam(value = "alpha", defaultValue = "0.5") double alpha,
+            @RequestParam(value = "minTrainSize", defaultValue = "3") int minTrainSize,
+            ServletWebRequest request){
+
+        ForecastModel forecastModel = ForecastModels.of(model, degree, alpha);
+
+        if(isNotModified(request, false)){
+            return null;
+        }
+
+        ForecastBacktest backtest = financeService.backtestForecastModel(forecastModel, minTrainSize);
+
+        if(backtest.getForecasts() == 0){
+            throw new NotFoundException();
+        }
+
+        //응답전문 작성
+        return new BacktestResponse(backtest);
+    }
+
+    //조회 API 조건부 요청 처리 (데이터셋 버전으로 ETag, Last-Modified 설정)
+    //If-None-Match 가 같거나 If-Modified-Since 이후 업로드가 없으면 304 응답 (서비스 호출 없음)
+    //캐시는 하되 매번 재검증하도록 Cache-Control: no-cache
+    private boolean isNotModified(ServletWebRequest request, boolean ndjson){
+
+        DatasetVersion.Snapshot snapshot = datasetVersion.current();
+
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        return request.checkNotModified(
+                ndjson ? snapshot.getNdjsonETag() : snapshot.getETag(),
+                snapshot.getLastModified());
+    }
+
+    //JSON 파라미터의 예측 모델 (model, degree, alpha), 없으면 기본 모델
+    private ForecastModel toForecastModel(Map<String, Object> jsonParam){
+
+        Object model = jsonParam.get("model");
+        Object degree = jsonParam.get("degree");
+        Object alpha = jsonParam.get("alpha");
+
+        try {
+            return ForecastModels.of(
+                    model == null ? ForecastMethod.POLYNOMIAL : ForecastMethod.valueOf(model.toString()),
+                    degree == null ? ForecastModels.DEFAULT_DEGREE : Integer.parseInt(degree.toString()),
+                    alpha == null ? ForecastModels.DEFAULT_ALPHA : Double.parseDouble(alpha.toString()));
+        } catch (IllegalArgumentException e) {
+            throw new WrongParameterException();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package com.finance.control.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+
+//금융기관의 연도별 지원금액 평균 중 가장 작은, 큰 금액 응답전문
+public final class AverageRangeResponse extends JsonResponse {
+
+    private static final SerializedString LARGEST_YEAR = new SerializedString("largestYear");
+    private static final SerializedString LARGEST_AMOUNT = new SerializedString("largestAmount");
+    private static final SerializedString SMALLEST_YEAR = new SerializedString("smallestYear");
+    private static final SerializedString SMALLEST_AMOUNT = new SerializedString("smallestAmount");
+    private static final SerializedString BANK = new SerializedString("bank");
+
+    private final String bank;
+    private final String largestYear;
+    private final double largestAmount;
+    private final String smallestYear;
+    private final double smallestAmount;
+
+    public AverageRangeResponse(String bank, String largestYear, double largestAmount,
+                                String smallestYear, double smallestAmount) {
+        this.bank = bank;
+        this.largestYear = largestYear;
+        this.largestAmount = largestAmount;
+        this.smallestYear = smallestYear;
+        this.smallestAmount = smallestAmount;
+    }
+
+    @Override
+    protected void writeFields(JsonGenerator generator) throws IOException {
+        generator.writeFieldName(LARGEST_YEAR);
+        generator.writeString(largestYear);
+        generator.writeFieldName(LARGEST_AMOUNT);
+        generator.writeNumber(largestAmount);
+        generator.writeFieldName(SMALLEST_YEAR);
+        generator.writeString(smallestYear);
+        generator.writeFieldName(SMALLEST_AMOUNT);
+        generator.writeNumber(smallestAmount);
+        generator.writeFieldName(BANK);
+        generator.writeString(bank);
+    }
+}
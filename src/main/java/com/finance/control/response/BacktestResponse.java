@@ -0,0 +1,43 @@
+package com.finance.control.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.finance.model.ForecastBacktest;
+
+import java.io.IOException;
+
+//예측 모델 백테스트 응답전문
+public final class BacktestResponse extends JsonResponse {
+
+    private static final SerializedString MODEL = new SerializedString("model");
+    private static final SerializedString SERIES = new SerializedString("series");
+    private static final SerializedString FORECASTS = new SerializedString("forecasts");
+    private static final SerializedString MAE = new SerializedString("mae");
+    private static final SerializedString RMSE = new SerializedString("rmse");
+    private static final SerializedString MAPE = new SerializedString("mape");
+    private static final SerializedString ELAPSED_MILLIS = new SerializedString("elapsedMillis");
+
+    private final ForecastBacktest backtest;
+
+    public BacktestResponse(ForecastBacktest backtest) {
+        this.backtest = backtest;
+    }
+
+    @Override
+    protected void writeFields(JsonGenerator generator) throws IOException {
+        generator.writeFieldName(MODEL);
+        generator.writeString(backtest.getModel());
+        generator.writeFieldName(SERIES);
+        generator.writeNumber(backtest.getSeries());
+        generator.writeFieldName(FORECASTS);
+        generator.writeNumber(backtest.getForecasts());
+        generator.writeFieldName(MAE);
+        generator.writeNumber(backtest.getMae());
+        generator.writeFieldName(RMSE);
+        generator.writeNumber(backtest.getRmse());
+        generator.writeFieldName(MAPE);
+        generator.writeNumber(backtest.getMape());
+        generator.writeFieldName(ELAPSED_MILLIS);
+        generator.writeNumber(backtest.getElapsedMillis());
+    }
+}
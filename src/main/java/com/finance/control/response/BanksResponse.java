@@ -0,0 +1,63 @@
+package com.finance.control.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.finance.data.Bank;
+
+import java.io.IOException;
+import java.util.List;
+
+//금융기관 목록 응답전문 {"banks":[{"bankName":..},..]}
+//금융기관명은 미리 인코딩해 두고, 목록이 바뀌지 않는 동안 같은 객체를 공유
+public final class BanksResponse extends JsonResponse {
+
+    private static final SerializedString BANKS = new SerializedString("banks");
+    private static final SerializedString BANK_NAME = new SerializedString("bankName");
+
+    private final SerializedString[] bankNames;
+
+    private BanksResponse(SerializedString[] bankNames) {
+        this.bankNames = bankNames;
+    }
+
+    public static BanksResponse of(List<Bank> banks) {
+        SerializedString[] bankNames = new SerializedString[banks.size()];
+
+        for(int index = 0; index < bankNames.length; index++){
+            bankNames[index] = new SerializedString(banks.get(index).getBankName());
+        }
+
+        return new BanksResponse(bankNames);
+    }
+
+    //같은 순서, 같은 이름의 금융기관 목록이면 true
+    public boolean matches(List<Bank> banks) {
+
+        if(banks.size() != bankNames.length) {
+            return false;
+        }
+
+        for(int index = 0; index < bankNames.length; index++){
+            if(!bankNames[index].getValue().equals(banks.get(index).getBankName())){
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    protected void writeFields(JsonGenerator generator) throws IOException {
+        generator.writeFieldName(BANKS);
+        generator.writeStartArray(bankNames.length);
+
+        for(SerializedString bankName : bankNames){
+            generator.writeStartObject();
+            generator.writeFieldName(BANK_NAME);
+            generator.writeString(bankName);
+            generator.writeEndObject();
+        }
+
+        generator.writeEndArray();
+    }
+}
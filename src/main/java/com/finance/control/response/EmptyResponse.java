@@ -0,0 +1,16 @@
+package com.finance.control.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+//빈 응답전문 {} (데이터가 없는 경우 등)
+public final class EmptyResponse extends JsonResponse {
+
+    public static final EmptyResponse INSTANCE = new EmptyResponse();
+
+    private EmptyResponse() {
+    }
+
+    @Override
+    protected void writeFields(JsonGenerator generator) {
+    }
+}
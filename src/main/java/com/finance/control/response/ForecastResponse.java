@@ -0,0 +1,68 @@
+package com.finance.control.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.finance.model.SupportForecast;
+
+import java.io.IOException;
+
+//금융기관, 월의 차년도 예측 응답전문 (금융기관명이 없으면 생략)
+public final class ForecastResponse extends JsonResponse {
+
+    private static final SerializedString BANK_ID = new SerializedString("bankId");
+    private static final SerializedString BANK = new SerializedString("bank");
+    private static final SerializedString YEAR = new SerializedString("year");
+    private static final SerializedString MONTH = new SerializedString("month");
+    private static final SerializedString MODEL = new SerializedString("model");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+
+    private final Long bankId;
+    private final String bank;
+    private final String year;
+    private final String month;
+    private final String model;
+    private final long amount;
+
+    public ForecastResponse(Long bankId, String bank, String year, String month, String model, long amount) {
+        this.bankId = bankId;
+        this.bank = bank;
+        this.year = year;
+        this.month = month;
+        this.model = model;
+        this.amount = amount;
+    }
+
+    public static ForecastResponse of(SupportForecast forecast) {
+        return new ForecastResponse(
+                forecast.getBank().getId(),
+                forecast.getBank().getBankName(),
+                String.valueOf(forecast.getYear()),
+                String.valueOf(forecast.getMonth()),
+                forecast.getModel(),
+                forecast.getAmount());
+    }
+
+    @Override
+    protected void writeFields(JsonGenerator generator) throws IOException {
+        generator.writeFieldName(BANK_ID);
+        if(bankId == null){
+            generator.writeNull();
+        }else{
+            generator.writeNumber(bankId);
+        }
+
+        if(bank != null){
+            generator.writeFieldName(BANK);
+            generator.writeString(bank);
+        }
+
+        generator.writeFieldName(YEAR);
+        generator.writeString(year);
+        generator.writeFieldName(MONTH);
+        generator.writeString(month);
+        generator.writeFieldName(MODEL);
+        generator.writeString(model);
+        generator.writeFieldName(AMOUNT);
+        generator.writeNumber(amount);
+    }
+}
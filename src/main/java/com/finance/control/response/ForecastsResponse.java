@@ -0,0 +1,40 @@
+package com.finance.control.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.finance.model.SupportForecast;
+
+import java.io.IOException;
+import java.util.List;
+
+//차년도 월별 예측 목록 응답전문 {"bank":..,"forecasts":[..]} (금융기관명이 없으면 생략)
+public final class ForecastsResponse extends JsonResponse {
+
+    private static final SerializedString BANK = new SerializedString("bank");
+    private static final SerializedString FORECASTS = new SerializedString("forecasts");
+
+    private final String bank;
+    private final List<SupportForecast> forecasts;
+
+    public ForecastsResponse(String bank, List<SupportForecast> forecasts) {
+        this.bank = bank;
+        this.forecasts = forecasts;
+    }
+
+    @Override
+    protected void writeFields(JsonGenerator generator) throws IOException {
+        if(bank != null){
+            generator.writeFieldName(BANK);
+            generator.writeString(bank);
+        }
+
+        generator.writeFieldName(FORECASTS);
+        generator.writeStartArray(forecasts.size());
+
+        for(SupportForecast forecast : forecasts){
+            ForecastResponse.of(forecast).serialize(generator, null);
+        }
+
+        generator.writeEndArray();
+    }
+}
@@ -0,0 +1,29 @@
+package com.finance.control.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+//응답전문 기반 클래스
+//각 응답이 필드를 직접 출력하므로, Jackson 이 Map 이나 getter 를 리플렉션으로 읽지 않음
+//필드명은 SerializedString 으로 미리 인코딩해서 사용
+public abstract class JsonResponse implements JsonSerializable {
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+        writeFields(generator);
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider provider,
+                                  TypeSerializer typeSerializer) throws IOException {
+        serialize(generator, provider);
+    }
+
+    protected abstract void writeFields(JsonGenerator generator) throws IOException;
+}
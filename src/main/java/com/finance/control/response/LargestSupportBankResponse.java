@@ -0,0 +1,29 @@
+package com.finance.control.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+
+//지원금액이 가장 큰 연도, 금융기관 응답전문
+public final class LargestSupportBankResponse extends JsonResponse {
+
+    private static final SerializedString YEAR = new SerializedString("year");
+    private static final SerializedString BANK = new SerializedString("bank");
+
+    private final String year;
+    private final String bank;
+
+    public LargestSupportBankResponse(String year, String bank) {
+        this.year = year;
+        this.bank = bank;
+    }
+
+    @Override
+    protected void writeFields(JsonGenerator generator) throws IOException {
+        generator.writeFieldName(YEAR);
+        generator.writeString(year);
+        generator.writeFieldName(BANK);
+        generator.writeString(bank);
+    }
+}
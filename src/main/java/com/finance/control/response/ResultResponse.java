@@ -0,0 +1,33 @@
+package com.finance.control.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.mixin.UploadResult;
+
+import java.io.IOException;
+
+//업로드 실패 응답전문 {"result":..}, 결과별로 하나씩 공유
+public final class ResultResponse extends JsonResponse {
+
+    public static final ResultResponse NO_FILE = new ResultResponse(UploadResult.NO_FILE);
+    public static final ResultResponse WRONG_FORM = new ResultResponse(UploadResult.WRONG_FORM);
+    public static final ResultResponse BUSY = new ResultResponse(UploadResult.BUSY);
+
+    private static final SerializedString RESULT = new SerializedString("result");
+
+    private final String result;
+
+    private ResultResponse(String result) {
+        this.result = result;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    @Override
+    protected void writeFields(JsonGenerator generator) throws IOException {
+        generator.writeFieldName(RESULT);
+        generator.writeString(result);
+    }
+}
@@ -0,0 +1,71 @@
+package com.finance.control.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.finance.model.UploadJob;
+import com.finance.model.UploadStatics;
+
+import java.io.IOException;
+
+//비동기 업로드 작업 상태 응답전문
+//완료되면 업로드 결과(result, banks, inserted, updated, unchanged), 실패하면 error 추가
+public final class UploadJobResponse extends JsonResponse {
+
+    private static final SerializedString JOB_ID = new SerializedString("jobId");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString MODE = new SerializedString("mode");
+    private static final SerializedString ROWS = new SerializedString("rows");
+    private static final SerializedString ELAPSED_MILLIS = new SerializedString("elapsedMillis");
+    private static final SerializedString ROWS_PER_SECOND = new SerializedString("rowsPerSecond");
+    private static final SerializedString RESULT = new SerializedString("result");
+    private static final SerializedString BANKS = new SerializedString("banks");
+    private static final SerializedString INSERTED = new SerializedString("inserted");
+    private static final SerializedString UPDATED = new SerializedString("updated");
+    private static final SerializedString UNCHANGED = new SerializedString("unchanged");
+    private static final SerializedString ERROR = new SerializedString("error");
+
+    private final UploadJob job;
+
+    public UploadJobResponse(UploadJob job) {
+        this.job = job;
+    }
+
+    @Override
+    protected void writeFields(JsonGenerator generator) throws IOException {
+        //상태를 먼저 읽어야, 완료 상태일 때 결과가 항상 있음
+        String status = job.getStatus().name();
+        UploadStatics uploadStatics = job.getUploadStatics();
+        String error = job.getError();
+
+        generator.writeFieldName(JOB_ID);
+        generator.writeString(job.getJobId());
+        generator.writeFieldName(STATUS);
+        generator.writeString(status);
+        generator.writeFieldName(MODE);
+        generator.writeString(job.getMode().name());
+        generator.writeFieldName(ROWS);
+        generator.writeNumber(job.getRows());
+        generator.writeFieldName(ELAPSED_MILLIS);
+        generator.writeNumber(job.getElapsedMillis());
+        generator.writeFieldName(ROWS_PER_SECOND);
+        generator.writeNumber(Math.round(job.getRowsPerSecond() * 10) / 10.0);
+
+        if(uploadStatics != null){
+            generator.writeFieldName(RESULT);
+            generator.writeString(uploadStatics.getResult());
+            generator.writeFieldName(BANKS);
+            generator.writeNumber(uploadStatics.getBanks());
+            generator.writeFieldName(INSERTED);
+            generator.writeNumber(uploadStatics.getInserted());
+            generator.writeFieldName(UPDATED);
+            generator.writeNumber(uploadStatics.getUpdated());
+            generator.writeFieldName(UNCHANGED);
+            generator.writeNumber(uploadStatics.getUnchanged());
+        }
+
+        if(error != null){
+            generator.writeFieldName(ERROR);
+            generator.writeString(error);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.finance.control.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.finance.model.UploadStatics;
+
+import java.io.IOException;
+
+//업로드 결과 응답전문
+public final class UploadResponse extends JsonResponse {
+
+    private static final SerializedString RESULT = new SerializedString("result");
+    private static final SerializedString ROWS = new SerializedString("rows");
+    private static final SerializedString BANKS = new SerializedString("banks");
+    private static final SerializedString INSERTED = new SerializedString("inserted");
+    private static final SerializedString UPDATED = new SerializedString("updated");
+    private static final SerializedString UNCHANGED = new SerializedString("unchanged");
+    private static final SerializedString ELAPSED_MILLIS = new SerializedString("elapsedMillis");
+
+    private final UploadStatics uploadStatics;
+
+    public UploadResponse(UploadStatics uploadStatics) {
+        this.uploadStatics = uploadStatics;
+    }
+
+    @Override
+    protected void writeFields(JsonGenerator generator) throws IOException {
+        generator.writeFieldName(RESULT);
+        generator.writeString(uploadStatics.getResult());
+        generator.writeFieldName(ROWS);
+        generator.writeNumber(uploadStatics.getRows());
+        generator.writeFieldName(BANKS);
+        generator.writeNumber(uploadStatics.getBanks());
+        generator.writeFieldName(INSERTED);
+        generator.writeNumber(uploadStatics.getInserted());
+        generator.writeFieldName(UPDATED);
+        generator.writeNumber(uploadStatics.getUpdated());
+        generator.writeFieldName(UNCHANGED);
+        generator.writeNumber(uploadStatics.getUnchanged());
+        generator.writeFieldName(ELAPSED_MILLIS);
+        generator.writeNumber(uploadStatics.getElapsedMillis());
+    }
+}
@@ -4,11 +4,14 @@ import org.dom4j.tree.AbstractEntity;
 
 import javax.persistence.*;
 
+//금융기관명 인덱스로 이름 조회
 @Entity
+@Table(indexes = @Index(name = "idx_bank_bank_name", columnList = "bankName"))
 public class Bank extends AbstractEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bank_seq")
+    @SequenceGenerator(name = "bank_seq", sequenceName = "bank_seq", allocationSize = 10)
     private Long id;
 
     @Column(nullable = false)
@@ -24,6 +27,12 @@ public class Bank extends AbstractEntity {
         this.bankName = bankName;
     }
 
+    //이미 저장된 금융기관 (집계 결과 등에서 id와 이름으로 복원)
+    public Bank(Long id, String bankName) {
+        this.id = id;
+        this.bankName = bankName;
+    }
+
     public String getBankName() {
         return bankName;
     }
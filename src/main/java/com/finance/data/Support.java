@@ -3,28 +3,35 @@ package com.finance.data;
 import org.dom4j.tree.AbstractEntity;
 
 import javax.persistence.*;
-import java.math.BigDecimal;
 
+//연도, 월은 숫자로 저장하고 금융기관 + 연도 + 월, 금융기관 + 월 복합 인덱스로 조회
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_support_bank_year_month", columnList = "bank_id, year, month"),
+        @Index(name = "idx_support_bank_month", columnList = "bank_id, month")
+})
 public class Support extends AbstractEntity {
 
+    //시퀀스를 50개 단위로 미리 할당 (pooled), 건별 시퀀스 조회를 없애고 JDBC 배치 INSERT가 가능하도록
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "support_seq")
+    @SequenceGenerator(name = "support_seq", sequenceName = "support_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(optional = false, cascade = CascadeType.ALL)
+    @ManyToOne(optional = false)
     private Bank bank;
 
     @Column(nullable = false)
-    private String year;
+    private int year;
 
     @Column(nullable = false)
-    private String month;
+    private int month;
 
+    //금액 (억원, 정수)
     @Column(nullable = false)
-    private BigDecimal amount;
+    private long amount;
 
-    public Support(Bank bank, String year, String month, BigDecimal amount){
+    public Support(Bank bank, int year, int month, long amount){
         this.bank = bank;
         this.year = year;
         this.month = month;
@@ -33,19 +40,27 @@ public class Support extends AbstractEntity {
 
     Support(){}
 
+    public Long getId() {
+        return id;
+    }
+
     public Bank getBank() {
         return bank;
     }
 
-    public String getYear() {
+    public int getYear() {
         return year;
     }
 
-    public String getMonth() {
+    public int getMonth() {
         return month;
     }
 
-    public BigDecimal getAmount() {
+    public long getAmount() {
         return amount;
     }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
 }
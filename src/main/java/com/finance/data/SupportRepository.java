@@ -1,13 +1,34 @@
 package com.finance.data;
 
+import com.finance.model.SupportSummary;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
-public interface SupportRepository extends CrudRepository<Support, Long> {
+public interface SupportRepository extends CrudRepository<Support, Long>, SupportRepositoryCustom {
 
     List<Support> findByBank(@Param("bank") Bank bank);
 
-    List<Support> findByBankAndMonth(@Param("bank") Bank bank, @Param("month") String month);
+    List<Support> findByBankAndMonth(@Param("bank") Bank bank, @Param("month") int month);
+
+    List<Support> findByBankAndYearAndMonth(@Param("bank") Bank bank, @Param("year") int year, @Param("month") int month);
+
+    //금융기관의 연도 범위 조회 (금융기관 + 연도 + 월 인덱스 범위 조회)
+    List<Support> findByBankAndYearBetweenOrderByYearAscMonthAsc(@Param("bank") Bank bank,
+                                                                 @Param("fromYear") int fromYear,
+                                                                 @Param("toYear") int toYear);
+
+    //연도별, 월별, 금융기관별 지원금액 집계 (통계 큐브 생성용)
+    @Query("select new com.finance.model.SupportSummary(" +
+            "b.id, b.bankName, s.year, s.month, sum(s.amount), count(s), min(s.amount), max(s.amount)) " +
+            "from Support s join s.bank b " +
+            "group by b.id, b.bankName, s.year, s.month")
+    List<SupportSummary> summarizeByBankAndYearAndMonth();
+
+    //전체 지원금액 데이터 (스냅샷 생성용), 엔티티 대신 금융기관 id, 연도, 월, 금액만 금융기관, 연도, 월 순서로
+    @Query("select s.bank.id, s.year, s.month, s.amount from Support s " +
+            "order by s.bank.id, s.year, s.month, s.id")
+    List<Object[]> findAllSupportValues();
 }
@@ -0,0 +1,7 @@
+package com.finance.data;
+
+public interface SupportRepositoryCustom {
+
+    //지원금액 데이터 대량 저장 (JDBC 배치 INSERT/UPDATE)
+    void saveAllInBatch(Iterable<Support> supports);
+}
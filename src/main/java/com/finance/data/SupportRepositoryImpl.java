@@ -0,0 +1,41 @@
+package com.finance.data;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+public class SupportRepositoryImpl implements SupportRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    //hibernate.jdbc.batch_size 와 같은 단위로 flush
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public void saveAllInBatch(Iterable<Support> supports) {
+
+        int count = 0;
+        for (Support support : supports) {
+            //이미 저장된 데이터는 수정
+            if (support.getId() == null) {
+                entityManager.persist(support);
+            } else {
+                entityManager.merge(support);
+            }
+
+            //배치 단위로 flush 후 영속성 컨텍스트를 비워서 메모리 사용량 유지
+            if (++count % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,5 @@
+package com.finance.exception;
+
+//비동기 업로드 대기열이 가득 찬 경우
+public class UploadJobRejectedException extends RuntimeException {
+}
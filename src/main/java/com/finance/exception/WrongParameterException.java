@@ -0,0 +1,4 @@
+package com.finance.exception;
+
+public class WrongParameterException extends RuntimeException {
+}
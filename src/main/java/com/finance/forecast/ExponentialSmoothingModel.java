@@ -0,0 +1,36 @@
+package com.finance.forecast;
+
+//단순 지수평활, 최근 값일수록 가중치 alpha 로 크게 반영
+public class ExponentialSmoothingModel implements ForecastModel {
+
+    private final double alpha;
+
+    public ExponentialSmoothingModel(double alpha) {
+
+        if(!(alpha > 0 && alpha <= 1)) {
+            throw new IllegalArgumentException("alpha : " + alpha);
+        }
+
+        this.alpha = alpha;
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+
+    @Override
+    public String getName() {
+        return "EXPONENTIAL_SMOOTHING(" + alpha + ")";
+    }
+
+    @Override
+    public double forecast(long[] values, int size) {
+
+        double level = values[0];
+        for(int index = 1; index < size; index++){
+            level += alpha * (values[index] - level);
+        }
+
+        return level;
+    }
+}
@@ -0,0 +1,59 @@
+package com.finance.forecast;
+
+//예측 오차 누적 (MAE, RMSE, MAPE)
+//시리즈별로 따로 누적한 뒤 merge 로 합침
+public class ForecastErrors {
+
+    private long count;
+    private double absoluteErrorSum;
+    private double squaredErrorSum;
+
+    //실제 값이 0 인 경우는 MAPE 에서 제외
+    private long percentageCount;
+    private double absolutePercentageErrorSum;
+
+    public void add(long actual, double predicted) {
+
+        double error = predicted - actual;
+
+        count++;
+        absoluteErrorSum += Math.abs(error);
+        squaredErrorSum += error * error;
+
+        if(actual != 0){
+            percentageCount++;
+            absolutePercentageErrorSum += Math.abs(error / actual);
+        }
+    }
+
+    public ForecastErrors merge(ForecastErrors errors) {
+
+        count += errors.count;
+        absoluteErrorSum += errors.absoluteErrorSum;
+        squaredErrorSum += errors.squaredErrorSum;
+        percentageCount += errors.percentageCount;
+        absolutePercentageErrorSum += errors.absolutePercentageErrorSum;
+
+        return this;
+    }
+
+    //예측 건수
+    public long getCount() {
+        return count;
+    }
+
+    //평균 절대 오차
+    public double getMae() {
+        return count == 0 ? 0 : absoluteErrorSum / count;
+    }
+
+    //평균 제곱근 오차
+    public double getRmse() {
+        return count == 0 ? 0 : Math.sqrt(squaredErrorSum / count);
+    }
+
+    //평균 절대 백분율 오차 (%)
+    public double getMape() {
+        return percentageCount == 0 ? 0 : absolutePercentageErrorSum / percentageCount * 100;
+    }
+}
@@ -0,0 +1,12 @@
+package com.finance.forecast;
+
+//연도순 시계열의 다음 값 예측 모델
+//여러 스레드에서 동시에 사용하므로 구현체는 스레드 안전해야 함
+public interface ForecastModel {
+
+    //모델 이름 (응답 표시용)
+    String getName();
+
+    //values[0 ~ size-1] 의 다음 값 예측, size 는 1 이상
+    double forecast(long[] values, int size);
+}
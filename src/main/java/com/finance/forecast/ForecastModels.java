@@ -0,0 +1,48 @@
+package com.finance.forecast;
+
+import com.finance.exception.WrongParameterException;
+import com.mixin.ForecastMethod;
+
+//요청 파라미터로 예측 모델 생성
+public class ForecastModels {
+
+    public static final int DEFAULT_DEGREE = 3;
+    public static final double DEFAULT_ALPHA = 0.5;
+
+    //다항식 최대 차수 (연도 수가 적어서 그 이상은 의미 없음)
+    public static final int MAX_DEGREE = 6;
+
+    //기본 예측 모델 (3차 다항식), 이 모델의 예측만 집계 큐브에 보관
+    public static final ForecastModel DEFAULT = new PolynomialModel(DEFAULT_DEGREE);
+
+    private static final ForecastModel LINEAR = new PolynomialModel(1);
+    private static final ForecastModel SEASONAL_NAIVE = new SeasonalNaiveModel();
+
+    private ForecastModels() {
+    }
+
+    //degree 는 POLYNOMIAL, alpha 는 EXPONENTIAL_SMOOTHING 에만 사용
+    public static ForecastModel of(ForecastMethod method, int degree, double alpha) {
+
+        if(method == ForecastMethod.POLYNOMIAL && (degree < 0 || degree > MAX_DEGREE)) {
+            throw new WrongParameterException();
+        }
+
+        if(method == ForecastMethod.EXPONENTIAL_SMOOTHING && !(alpha > 0 && alpha <= 1)) {
+            throw new WrongParameterException();
+        }
+
+        switch (method) {
+            case POLYNOMIAL:
+                return degree == DEFAULT_DEGREE ? DEFAULT : new PolynomialModel(degree);
+            case LINEAR:
+                return LINEAR;
+            case EXPONENTIAL_SMOOTHING:
+                return new ExponentialSmoothingModel(alpha);
+            case SEASONAL_NAIVE:
+                return SEASONAL_NAIVE;
+            default:
+                throw new IllegalArgumentException("method : " + method);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.finance.forecast;
+
+//저차 다항식 최소제곱 추세선 (x = 1, 2, ..., n)
+//정규방정식을 기본형 배열로 직접 풀어서, 계산 중 객체를 생성하지 않음
+//작업 배열을 재사용하므로 스레드 간 공유 불가 (스레드별로 하나씩 사용)
+public class PolynomialFitter {
+
+    private final int degree;
+
+    //x 거듭제곱 합 (0 ~ 2 x 차수)
+    private final double[] powerSums;
+
+    //정규방정식 첨가행렬 (차수+1) x (차수+2), 행 우선
+    private final double[] matrix;
+
+    public PolynomialFitter(int degree) {
+
+        if(degree < 0) {
+            throw new IllegalArgumentException("degree : " + degree);
+        }
+
+        this.degree = degree;
+        this.powerSums = new double[2 * degree + 1];
+        this.matrix = new double[(degree + 1) * (degree + 2)];
+    }
+
+    public int getDegree() {
+        return degree;
+    }
+
+    //values[0 ~ size-1] 을 x = 1 ~ size 에 맞추는 계수 (낮은 차수부터)
+    //데이터 수가 차수 이하이면 (데이터 수 - 1) 차로 맞추고 나머지 계수는 0
+    public double[] fit(long[] values, int size, double[] coefficients) {
+
+        if(coefficients.length < degree + 1) {
+            throw new IllegalArgumentException("coefficients length : " + coefficients.length);
+        }
+
+        for(int index = 0; index <= degree; index++){
+            coefficients[index] = 0;
+        }
+
+        if(size == 0) {
+            return coefficients;
+        }
+
+        int fitDegree = Math.min(degree, size - 1);
+        int columns = fitDegree + 2;
+
+        for(int power = 0; power <= 2 * fitDegree; power++){
+            powerSums[power] = 0;
+        }
+        for(int row = 0; row <= fitDegree; row++){
+            matrix[row * columns + columns - 1] = 0;
+        }
+
+        //거듭제곱 합, 우변 (x^k * y 합)
+        double x;
+        double xPower;
+        for(int index = 0; index < size; index++){
+            x = index + 1;
+            xPower = 1;
+
+            for(int power = 0; power <= 2 * fitDegree; power++){
+                powerSums[power] += xPower;
+
+                if(power <= fitDegree){
+                    matrix[power * columns + columns - 1] += xPower * values[index];
+                }
+
+                xPower *= x;
+            }
+        }
+
+        for(int row = 0; row <= fitDegree; row++){
+            for(int column = 0; column <= fitDegree; column++){
+                matrix[row * columns + column] = powerSums[row + column];
+            }
+        }
+
+        solve(fitDegree + 1, columns);
+
+        for(int row = 0; row <= fitDegree; row++){
+            coefficients[row] = matrix[row * columns + columns - 1];
+        }
+
+        return coefficients;
+    }
+
+    //부분 피벗 가우스 소거 (해는 마지막 열에 남김)
+    private void solve(int rows, int columns) {
+
+        int pivotRow;
+        double pivot;
+        double factor;
+        double swap;
+
+        for(int column = 0; column < rows; column++){
+
+            pivotRow = column;
+            for(int row = column + 1; row < rows; row++){
+                if(Math.abs(matrix[row * columns + column]) > Math.abs(matrix[pivotRow * columns + column])){
+                    pivotRow = row;
+                }
+            }
+
+            if(pivotRow != column){
+                for(int index = column; index < columns; index++){
+                    swap = matrix[column * columns + index];
+                    matrix[column * columns + index] = matrix[pivotRow * columns + index];
+                    matrix[pivotRow * columns + index] = swap;
+                }
+            }
+
+            pivot = matrix[column * columns + column];
+            for(int row = column + 1; row < rows; row++){
+                factor = matrix[row * columns + column] / pivot;
+
+                for(int index = column; index < columns; index++){
+                    matrix[row * columns + index] -= factor * matrix[column * columns + index];
+                }
+            }
+        }
+
+        //후진 대입
+        double value;
+        for(int row = rows - 1; row >= 0; row--){
+            value = matrix[row * columns + columns - 1];
+
+            for(int column = row + 1; column < rows; column++){
+                value -= matrix[row * columns + column] * matrix[column * columns + columns - 1];
+            }
+
+            matrix[row * columns + columns - 1] = value / matrix[row * columns + row];
+        }
+    }
+
+    //계수 (낮은 차수부터) 로 x 의 값 계산 (Horner)
+    public static double evaluate(double[] coefficients, double x) {
+
+        double value = 0;
+        for(int index = coefficients.length - 1; index >= 0; index--){
+            value = value * x + coefficients[index];
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,36 @@
+package com.finance.forecast;
+
+//k차 다항식 추세선 (x = 1 ~ 데이터 수) 으로 다음 연도 값 예측
+public class PolynomialModel implements ForecastModel {
+
+    private final int degree;
+
+    //추세선 계산기, 계수 배열 (스레드별로 하나씩 재사용)
+    private final ThreadLocal<PolynomialFitter> fitters;
+    private final ThreadLocal<double[]> coefficients;
+
+    public PolynomialModel(int degree) {
+
+        if(degree < 0) {
+            throw new IllegalArgumentException("degree : " + degree);
+        }
+
+        this.degree = degree;
+        this.fitters = ThreadLocal.withInitial(() -> new PolynomialFitter(degree));
+        this.coefficients = ThreadLocal.withInitial(() -> new double[degree + 1]);
+    }
+
+    public int getDegree() {
+        return degree;
+    }
+
+    @Override
+    public String getName() {
+        return degree == 1 ? "LINEAR" : "POLYNOMIAL(" + degree + ")";
+    }
+
+    @Override
+    public double forecast(long[] values, int size) {
+        return PolynomialFitter.evaluate(fitters.get().fit(values, size, coefficients.get()), size + 1);
+    }
+}
@@ -0,0 +1,16 @@
+package com.finance.forecast;
+
+//계절 단순 예측, 차년도 동월 = 전년도 동월
+//시계열이 이미 금융기관, 월별 연도순이므로 마지막 값이 곧 전년도 동월
+public class SeasonalNaiveModel implements ForecastModel {
+
+    @Override
+    public String getName() {
+        return "SEASONAL_NAIVE";
+    }
+
+    @Override
+    public double forecast(long[] values, int size) {
+        return values[size - 1];
+    }
+}
@@ -0,0 +1,62 @@
+package com.finance.ingest;
+
+import com.finance.exception.WrongFormFileException;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+//압축된 업로드 파일 (gzip, zip) 을 앞 바이트(매직넘버)로 구분해서 스트림으로 압축 해제
+//압축 해제된 내용을 바이트 배열에 모으지 않고, 읽는 대로 CSV 파서에 전달
+public final class CompressedInput {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CompressedInput() {
+    }
+
+    //gzip (1F 8B) 이면 압축 해제, zip (50 4B 03 04) 이면 첫번째 파일의 내용, 아니면 그대로
+    //zip 에 파일이 없으면 WrongFormFileException
+    public static InputStream decompress(InputStream in) throws IOException {
+
+        InputStream buffered = in.markSupported() ? in : new BufferedInputStream(in, BUFFER_SIZE);
+
+        byte[] magic = new byte[4];
+        buffered.mark(magic.length);
+        int length = readFully(buffered, magic);
+        buffered.reset();
+
+        if(length >= 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B){
+            return new GZIPInputStream(buffered, BUFFER_SIZE);
+        }
+
+        if(length == 4 && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4){
+            ZipInputStream zip = new ZipInputStream(buffered);
+
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null){
+                if(!entry.isDirectory()){
+                    return zip;
+                }
+            }
+
+            throw new WrongFormFileException();
+        }
+
+        return buffered;
+    }
+
+    private static int readFully(InputStream in, byte[] bytes) throws IOException {
+        int length = 0;
+        int read;
+
+        while (length < bytes.length && (read = in.read(bytes, length, bytes.length - length)) > 0){
+            length += read;
+        }
+
+        return length;
+    }
+}
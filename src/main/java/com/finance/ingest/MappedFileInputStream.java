@@ -0,0 +1,83 @@
+package com.finance.ingest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+//파일을 일정 크기 구간씩 메모리 맵(FileChannel.map)으로 읽는 InputStream
+//파일 내용을 힙에 올리지 않고 페이지 캐시에서 바로 읽으므로, 파일 크기와 관계없이 힙 사용량이 일정
+public class MappedFileInputStream extends InputStream {
+
+    //한번에 맵하는 구간 크기 (바이트)
+    public static final long DEFAULT_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+
+    //다음에 맵할 구간의 시작 위치
+    private long position;
+    private MappedByteBuffer window;
+
+    public MappedFileInputStream(Path file) throws IOException {
+        this(file, DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedFileInputStream(Path file, long windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if(!nextWindow()){
+            return -1;
+        }
+        return window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if(length == 0){
+            return 0;
+        }
+        if(!nextWindow()){
+            return -1;
+        }
+
+        int read = Math.min(length, window.remaining());
+        window.get(bytes, offset, read);
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return window == null ? 0 : window.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    //현재 구간을 다 읽었으면 다음 구간을 맵, 파일 끝이면 false
+    private boolean nextWindow() throws IOException {
+        if(window != null && window.hasRemaining()){
+            return true;
+        }
+        if(position >= size){
+            return false;
+        }
+
+        long length = Math.min(windowSize, size - position);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        position += length;
+
+        return true;
+    }
+}
@@ -0,0 +1,260 @@
+package com.finance.ingest;
+
+import com.finance.exception.WrongFormFileException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+//지원금액 CSV 파일 리더
+//파일을 줄 단위로 자른 묶음(청크)으로 읽고, 청크별 파싱은 executor 에서 병렬로 수행
+//결과는 파일 순서대로 전달, 동시에 파싱 중인 청크 수를 제한해서 메모리는 파일 크기와 관계없이 일정
+//EUC-KR 은 멀티바이트 문자에 0x80 미만 바이트가 없으므로, 줄바꿈(0x0A) 바이트 위치에서 잘라도 문자가 깨지지 않음
+public class SupportCsvReader implements AutoCloseable {
+
+    //청크 크기 (바이트)
+    public static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final InputStream in;
+    private final Charset charset;
+    private final Executor executor;
+    private final int chunkSize;
+    private final int maxInFlight;
+
+    //청크 끝에서 잘린 다음 줄의 앞부분
+    private byte[] carry = EMPTY;
+    private boolean eof;
+
+    //마지막으로 읽은 청크의 길이 (마지막 줄바꿈까지)
+    private int chunkLength;
+
+    //헤더를 읽고 남은 첫 청크의 데이터 부분
+    private byte[] pending;
+    private int pendingStart;
+    private int pendingEnd;
+
+    private final ArrayDeque<CompletableFuture<SupportRows>> inFlight = new ArrayDeque<>();
+
+    //executor 가 null 이면 호출 스레드에서 파싱
+    public SupportCsvReader(InputStream in, Charset charset, Executor executor, int chunkSize, int maxInFlight) {
+        this.in = in;
+        this.charset = charset;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    //첫 줄(헤더)의 열 목록, 빈 파일이면 null
+    public List<String> readHeader() throws IOException {
+
+        byte[] chunk = readChunk();
+        if(chunk == null){
+            return null;
+        }
+
+        int chunkEnd = chunkLength;
+        int lineEnd = SupportRowParser.indexOf(chunk, (byte) '\n', 0, chunkEnd);
+        int valueEnd = lineEnd > 0 && chunk[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+
+        pending = chunk;
+        pendingStart = Math.min(lineEnd + 1, chunkEnd);
+        pendingEnd = chunkEnd;
+
+        return splitHeader(new String(chunk, 0, valueEnd, charset));
+    }
+
+    //다음 청크의 행들 (파일 순서), 끝이면 null
+    //columns : 연도, 월 다음의 금액 열 수
+    public SupportRows next(int columns) throws IOException {
+
+        while (inFlight.size() < maxInFlight){
+            if(!submitNext(columns)){
+                break;
+            }
+        }
+
+        CompletableFuture<SupportRows> rows = inFlight.poll();
+        if(rows == null){
+            return null;
+        }
+
+        try {
+            return rows.join();
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException){
+                throw (RuntimeException) e.getCause();
+            }
+            if(e.getCause() instanceof Error){
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    //파싱 중인 청크는 결과를 버림 (스트림은 호출한 쪽에서 닫음)
+    @Override
+    public void close() {
+        for(CompletableFuture<SupportRows> rows : inFlight){
+            rows.cancel(false);
+        }
+        inFlight.clear();
+    }
+
+    //금융기관명에서 괄호와 단위(억원) 문자 제거 : '국민은행(억원)' -> '국민은행'
+    public static String toBankName(String column) {
+
+        StringBuilder bankName = new StringBuilder(column.length());
+        char current;
+
+        for(int index = 0; index < column.length(); index++){
+            current = column.charAt(index);
+            if(current != '(' && current != ')' && current != '억' && current != '원'){
+                bankName.append(current);
+            }
+        }
+
+        return bankName.toString();
+    }
+
+    private boolean submitNext(int columns) throws IOException {
+
+        byte[] bytes;
+        int start;
+        int end;
+
+        if(pending != null){
+            bytes = pending;
+            start = pendingStart;
+            end = pendingEnd;
+            pending = null;
+        }else{
+            bytes = readChunk();
+            if(bytes == null){
+                return false;
+            }
+            start = 0;
+            end = chunkLength;
+        }
+
+        if(start >= end){
+            return true;
+        }
+
+        if(executor == null){
+            inFlight.add(parseNow(bytes, start, end, columns));
+        }else{
+            inFlight.add(CompletableFuture.supplyAsync(
+                    () -> SupportRowParser.parse(bytes, start, end, columns), executor));
+        }
+
+        return true;
+    }
+
+    private CompletableFuture<SupportRows> parseNow(byte[] bytes, int start, int end, int columns) {
+        CompletableFuture<SupportRows> rows = new CompletableFuture<>();
+        try {
+            rows.complete(SupportRowParser.parse(bytes, start, end, columns));
+        } catch (RuntimeException e) {
+            rows.completeExceptionally(e);
+        }
+        return rows;
+    }
+
+    //줄바꿈으로 끝나는 다음 청크 (파일 끝이면 남은 전체), 더 없으면 null
+    //한 줄이 청크보다 길면 줄바꿈이 나올 때까지 버퍼를 늘림
+    private byte[] readChunk() throws IOException {
+
+        byte[] buffer = new byte[Math.max(chunkSize, carry.length * 2)];
+        System.arraycopy(carry, 0, buffer, 0, carry.length);
+        int length = carry.length;
+        carry = EMPTY;
+
+        int lastLineEnd = -1;
+        int read;
+
+        while (true){
+            while (length < buffer.length && !eof){
+                read = in.read(buffer, length, buffer.length - length);
+                if(read < 0){
+                    eof = true;
+                }else{
+                    length += read;
+                }
+            }
+
+            if(eof){
+                if(length == 0){
+                    return null;
+                }
+                chunkLength = length;
+                return buffer;
+            }
+
+            lastLineEnd = lastIndexOf(buffer, (byte) '\n', length);
+            if(lastLineEnd >= 0){
+                break;
+            }
+
+            byte[] larger = new byte[buffer.length * 2];
+            System.arraycopy(buffer, 0, larger, 0, length);
+            buffer = larger;
+        }
+
+        carry = new byte[length - lastLineEnd - 1];
+        System.arraycopy(buffer, lastLineEnd + 1, carry, 0, carry.length);
+
+        chunkLength = lastLineEnd + 1;
+        return buffer;
+    }
+
+    private static int lastIndexOf(byte[] bytes, byte target, int end) {
+        for(int index = end - 1; index >= 0; index--){
+            if(bytes[index] == target){
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    //헤더 열 분리 (따옴표로 감싼 열은 따옴표 제거, "" 는 따옴표 문자)
+    private static List<String> splitHeader(String header) {
+
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        char current;
+
+        for(int index = 0; index < header.length(); index++){
+            current = header.charAt(index);
+
+            if(current == '"'){
+                if(quoted && index + 1 < header.length() && header.charAt(index + 1) == '"'){
+                    column.append('"');
+                    index++;
+                }else{
+                    quoted = !quoted;
+                }
+            }else if(current == ',' && !quoted){
+                columns.add(column.toString());
+                column.setLength(0);
+            }else{
+                column.append(current);
+            }
+        }
+
+        if(quoted){
+            throw new WrongFormFileException();
+        }
+
+        columns.add(column.toString());
+        return columns;
+    }
+}
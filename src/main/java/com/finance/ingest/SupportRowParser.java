@@ -0,0 +1,185 @@
+package com.finance.ingest;
+
+import com.finance.exception.WrongFormFileException;
+
+//지원금액 데이터 행 파서
+//연도, 월, 금액은 모두 ASCII 이므로 EUC-KR 디코딩 없이 바이트에서 바로 숫자로 변환 (정규식, 중간 문자열 없음)
+//한 행은 한 줄, 따옴표로 감싼 값 안에 줄바꿈은 허용하지 않음
+public final class SupportRowParser {
+
+    private SupportRowParser() {
+    }
+
+    //줄 단위로 잘린 바이트 [start, end) 의 행들을 파싱
+    //columns : 연도, 월 다음의 금액 열 수, 나머지 열은 무시
+    //빈 줄은 건너뛰고, 열이 모자라거나 숫자가 아니거나 연도, 월이 올바르지 않으면 WrongFormFileException
+    public static SupportRows parse(byte[] bytes, int start, int end, int columns) {
+
+        int capacity = countLines(bytes, start, end);
+        int[] years = new int[capacity];
+        int[] months = new int[capacity];
+        long[] amounts = new long[capacity * columns];
+
+        int size = 0;
+        int position = start;
+        int lineEnd;
+        int valueEnd;
+        int fieldStart;
+        int fieldEnd;
+        boolean moreFields;
+        long value;
+
+        while (position < end){
+
+            lineEnd = indexOf(bytes, (byte) '\n', position, end);
+            valueEnd = lineEnd > position && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+
+            if(isBlank(bytes, position, valueEnd)){
+                position = lineEnd + 1;
+                continue;
+            }
+
+            fieldStart = position;
+            moreFields = true;
+
+            for(int column = 0; column < columns + 2; column++){
+
+                if(!moreFields){
+                    throw new WrongFormFileException();
+                }
+
+                fieldEnd = fieldEnd(bytes, fieldStart, valueEnd);
+                moreFields = fieldEnd < valueEnd;
+                value = parseLong(bytes, fieldStart, fieldEnd);
+
+                if(column == 0){
+                    if(value <= 0 || value > Integer.MAX_VALUE){
+                        throw new WrongFormFileException();
+                    }
+                    years[size] = (int) value;
+                }else if(column == 1){
+                    if(value < 1 || value > 12){
+                        throw new WrongFormFileException();
+                    }
+                    months[size] = (int) value;
+                }else{
+                    amounts[size * columns + column - 2] = value;
+                }
+
+                fieldStart = fieldEnd + 1;
+            }
+
+            size++;
+            position = lineEnd + 1;
+        }
+
+        return new SupportRows(size, columns, years, months, amounts);
+    }
+
+    //[start, end) 의 숫자 값, 앞뒤 공백과 감싼 따옴표, 천단위 쉼표 허용
+    public static long parseLong(byte[] bytes, int start, int end) {
+
+        while (start < end && isSpace(bytes[start])) start++;
+        while (end > start && isSpace(bytes[end - 1])) end--;
+
+        if(start < end && bytes[start] == '"'){
+            if(end - start < 2 || bytes[end - 1] != '"'){
+                throw new WrongFormFileException();
+            }
+            start++;
+            end--;
+
+            while (start < end && isSpace(bytes[start])) start++;
+            while (end > start && isSpace(bytes[end - 1])) end--;
+        }
+
+        boolean negative = false;
+        if(start < end && (bytes[start] == '-' || bytes[start] == '+')){
+            negative = bytes[start] == '-';
+            start++;
+        }
+
+        long value = 0;
+        int digits = 0;
+        int digit;
+        byte current;
+
+        for(int index = start; index < end; index++){
+            current = bytes[index];
+
+            if(current == ','){
+                //천단위 쉼표는 숫자 사이에만
+                if(digits == 0 || index == end - 1){
+                    throw new WrongFormFileException();
+                }
+                continue;
+            }
+
+            digit = current - '0';
+            if(digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10){
+                throw new WrongFormFileException();
+            }
+
+            value = value * 10 + digit;
+            digits++;
+        }
+
+        if(digits == 0){
+            throw new WrongFormFileException();
+        }
+
+        return negative ? -value : value;
+    }
+
+    //필드 끝(다음 쉼표 또는 줄 끝) 위치, 따옴표 안의 쉼표는 건너뜀 ("" 는 따옴표 문자)
+    private static int fieldEnd(byte[] bytes, int start, int end) {
+
+        boolean quoted = false;
+
+        for(int index = start; index < end; index++){
+            if(bytes[index] == '"'){
+                quoted = !quoted;
+            }else if(bytes[index] == ',' && !quoted){
+                return index;
+            }
+        }
+
+        if(quoted){
+            throw new WrongFormFileException();
+        }
+
+        return end;
+    }
+
+    private static int countLines(byte[] bytes, int start, int end) {
+        int lines = 1;
+        for(int index = start; index < end; index++){
+            if(bytes[index] == '\n'){
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    static int indexOf(byte[] bytes, byte target, int start, int end) {
+        for(int index = start; index < end; index++){
+            if(bytes[index] == target){
+                return index;
+            }
+        }
+        return end;
+    }
+
+    private static boolean isBlank(byte[] bytes, int start, int end) {
+        for(int index = start; index < end; index++){
+            if(!isSpace(bytes[index])){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSpace(byte value) {
+        return value == ' ' || value == '\t';
+    }
+}
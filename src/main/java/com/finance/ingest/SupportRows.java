@@ -0,0 +1,39 @@
+package com.finance.ingest;
+
+//파싱된 지원금액 데이터 묶음 (파일의 연속된 행들)
+//행마다 연도, 월, 금융기관 열 순서대로의 금액
+public class SupportRows {
+
+    private final int size;
+    private final int columns;
+    private final int[] years;
+    private final int[] months;
+
+    //행 x 금융기관 열 (행 우선)
+    private final long[] amounts;
+
+    SupportRows(int size, int columns, int[] years, int[] months, long[] amounts) {
+        this.size = size;
+        this.columns = columns;
+        this.years = years;
+        this.months = months;
+        this.amounts = amounts;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getYear(int row) {
+        return years[row];
+    }
+
+    public int getMonth(int row) {
+        return months[row];
+    }
+
+    //column : 금융기관 열 순서 (0부터, 연도, 월 열 제외)
+    public long getAmount(int row, int column) {
+        return amounts[row * columns + column];
+    }
+}
@@ -0,0 +1,281 @@
+package com.finance.ingest;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+//금융기관, 지원금액 데이터 바이너리 스냅샷 (기동 시 CSV 를 다시 올리지 않고 바로 복원하는 용도)
+//열 단위로 저장 : 금융기관 순번, 연도, 월은 앞 행과의 차이를 varint 로 (정렬되어 있으면 행마다 1 바이트씩),
+//금액은 zigzag varint 로 (억원 단위 정수이므로 대부분 2 ~ 3 바이트), 마지막에 CRC32
+//
+// 'FSNP' | 형식 버전 | 금융기관 수 | (이름 길이, UTF-8 이름) x 금융기관 수 | 행 수
+//        | 금융기관 순번 열 | 연도 열 | 월 열 | 금액 열 | CRC32 (앞의 전체 바이트)
+public final class SupportSnapshot {
+
+    private static final int MAGIC = 0x46534e50;
+    private static final int FORMAT_VERSION = 1;
+
+    //체크섬 확인 전에 읽는 값이므로, 건수만 보고 배열을 크게 잡지 않도록 처음 크기를 제한하고 읽으면서 늘림
+    //(깨진 파일의 건수로 메모리를 다 쓰지 않고, 파일이 실제로 담고 있는 만큼만 할당)
+    private static final int INITIAL_CAPACITY = 4096;
+
+    //금융기관명 최대 바이트 수 (DB 컬럼 255자를 넘는 이름은 깨진 파일)
+    private static final int MAX_BANK_NAME_BYTES = 4096;
+
+    private final List<String> bankNames;
+    private final int size;
+    private final int[] bankIndexes;
+    private final int[] years;
+    private final int[] months;
+    private final long[] amounts;
+
+    private SupportSnapshot(List<String> bankNames, int size, int[] bankIndexes, int[] years, int[] months, long[] amounts) {
+        this.bankNames = Collections.unmodifiableList(bankNames);
+        this.size = size;
+        this.bankIndexes = bankIndexes;
+        this.years = years;
+        this.months = months;
+        this.amounts = amounts;
+    }
+
+    //금융기관명 (저장 순서, 행의 금융기관 순번으로 찾음)
+    public List<String> getBankNames() {
+        return bankNames;
+    }
+
+    //지원금액 데이터 행 수
+    public int size() {
+        return size;
+    }
+
+    public int getBankIndex(int row) {
+        return bankIndexes[row];
+    }
+
+    public int getYear(int row) {
+        return years[row];
+    }
+
+    public int getMonth(int row) {
+        return months[row];
+    }
+
+    public long getAmount(int row) {
+        return amounts[row];
+    }
+
+    public void write(OutputStream out) throws IOException {
+
+        BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        CheckedOutputStream checked = new CheckedOutputStream(buffered, new CRC32());
+        DataOutputStream data = new DataOutputStream(checked);
+
+        data.writeInt(MAGIC);
+        data.writeByte(FORMAT_VERSION);
+
+        writeVarLong(data, bankNames.size());
+        byte[] name;
+        for(String bankName : bankNames){
+            name = bankName.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(data, name.length);
+            data.write(name);
+        }
+
+        writeVarLong(data, size);
+        writeDeltaColumn(data, bankIndexes);
+        writeDeltaColumn(data, years);
+        writeDeltaColumn(data, months);
+        for(int row = 0; row < size; row++){
+            writeVarLong(data, zigzag(amounts[row]));
+        }
+
+        //CRC 는 체크섬 계산 대상이 아니므로 아래 스트림에 바로 기록
+        data.flush();
+        new DataOutputStream(buffered).writeInt((int) checked.getChecksum().getValue());
+        buffered.flush();
+    }
+
+    //형식이 다르거나, 잘렸거나, 체크섬이 맞지 않으면 IOException
+    public static SupportSnapshot read(InputStream in) throws IOException {
+
+        BufferedInputStream buffered = new BufferedInputStream(in, 64 * 1024);
+        CheckedInputStream checked = new CheckedInputStream(buffered, new CRC32());
+        DataInputStream data = new DataInputStream(checked);
+
+        try {
+            if(data.readInt() != MAGIC){
+                throw new IOException("not a support snapshot");
+            }
+            int formatVersion = data.readUnsignedByte();
+            if(formatVersion != FORMAT_VERSION){
+                throw new IOException("unsupported support snapshot version " + formatVersion);
+            }
+
+            int bankCount = readCount(data);
+            List<String> bankNames = new ArrayList<>(Math.min(bankCount, INITIAL_CAPACITY));
+            int nameLength;
+            byte[] name;
+            for(int bank = 0; bank < bankCount; bank++){
+                nameLength = readCount(data);
+                if(nameLength > MAX_BANK_NAME_BYTES){
+                    throw new IOException("invalid support snapshot bank name");
+                }
+                name = new byte[nameLength];
+                data.readFully(name);
+                bankNames.add(new String(name, StandardCharsets.UTF_8));
+            }
+
+            int size = readCount(data);
+            int[] bankIndexes = readDeltaColumn(data, size);
+            int[] years = readDeltaColumn(data, size);
+            int[] months = readDeltaColumn(data, size);
+            long[] amounts = new long[Math.min(size, INITIAL_CAPACITY)];
+            for(int row = 0; row < size; row++){
+                if(row == amounts.length){
+                    amounts = Arrays.copyOf(amounts, grownCapacity(row, size));
+                }
+                amounts[row] = unzigzag(readVarLong(data));
+            }
+
+            int checksum = (int) checked.getChecksum().getValue();
+            if(new DataInputStream(buffered).readInt() != checksum){
+                throw new IOException("support snapshot checksum mismatch");
+            }
+
+            for(int row = 0; row < size; row++){
+                if(bankIndexes[row] < 0 || bankIndexes[row] >= bankCount || months[row] < 1 || months[row] > 12){
+                    throw new IOException("invalid support snapshot row " + row);
+                }
+            }
+
+            return new SupportSnapshot(bankNames, size, bankIndexes, years, months, amounts);
+
+        } catch (EOFException e) {
+            throw new IOException("truncated support snapshot", e);
+        }
+    }
+
+    private static void writeDeltaColumn(DataOutput data, int[] values) throws IOException {
+        int previous = 0;
+        for(int value : values){
+            writeVarLong(data, zigzag((long) value - previous));
+            previous = value;
+        }
+    }
+
+    private static int[] readDeltaColumn(DataInput data, int size) throws IOException {
+        int[] values = new int[Math.min(size, INITIAL_CAPACITY)];
+        long previous = 0;
+        for(int row = 0; row < size; row++){
+            if(row == values.length){
+                values = Arrays.copyOf(values, grownCapacity(row, size));
+            }
+            previous += unzigzag(readVarLong(data));
+            if(previous < Integer.MIN_VALUE || previous > Integer.MAX_VALUE){
+                throw new IOException("invalid support snapshot column");
+            }
+            values[row] = (int) previous;
+        }
+        return values;
+    }
+
+    //두배씩 늘리되 행 수를 넘지 않도록
+    private static int grownCapacity(int length, int size) {
+        return (int) Math.min(size, length * 2L);
+    }
+
+    //음수가 아닌 값을 7 비트씩, 이어지는 바이트가 있으면 최상위 비트 1
+    private static void writeVarLong(DataOutput data, long value) throws IOException {
+        while ((value & ~0x7FL) != 0){
+            data.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        data.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput data) throws IOException {
+        long value = 0;
+        int b;
+        for(int shift = 0; shift < 64; shift += 7){
+            b = data.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if((b & 0x80) == 0){
+                return value;
+            }
+        }
+        throw new IOException("invalid support snapshot varint");
+    }
+
+    //건수는 배열 크기로 쓰므로 int 범위만 허용
+    private static int readCount(DataInput data) throws IOException {
+        long count = readVarLong(data);
+        if(count > Integer.MAX_VALUE){
+            throw new IOException("invalid support snapshot count");
+        }
+        return (int) count;
+    }
+
+    //부호가 있는 값을 작은 음수도 짧게 쓰도록 (0, -1, 1, -2, ... -> 0, 1, 2, 3, ...)
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    //스냅샷 생성, 금융기관을 먼저 추가하고 행은 금융기관 순번으로 추가
+    public static final class Builder {
+
+        private final List<String> bankNames = new ArrayList<>();
+        private int size;
+        private int[] bankIndexes = new int[256];
+        private int[] years = new int[256];
+        private int[] months = new int[256];
+        private long[] amounts = new long[256];
+
+        //추가한 금융기관의 순번
+        public int addBank(String bankName) {
+            bankNames.add(bankName);
+            return bankNames.size() - 1;
+        }
+
+        public Builder add(int bankIndex, int year, int month, long amount) {
+            if(bankIndex < 0 || bankIndex >= bankNames.size()){
+                throw new IllegalArgumentException("unknown bank index " + bankIndex);
+            }
+
+            if(size == years.length){
+                int capacity = size * 2;
+                bankIndexes = Arrays.copyOf(bankIndexes, capacity);
+                years = Arrays.copyOf(years, capacity);
+                months = Arrays.copyOf(months, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+            }
+
+            bankIndexes[size] = bankIndex;
+            years[size] = year;
+            months[size] = month;
+            amounts[size] = amount;
+            size++;
+
+            return this;
+        }
+
+        public SupportSnapshot build() {
+            return new SupportSnapshot(
+                    new ArrayList<>(bankNames),
+                    size,
+                    Arrays.copyOf(bankIndexes, size),
+                    Arrays.copyOf(years, size),
+                    Arrays.copyOf(months, size),
+                    Arrays.copyOf(amounts, size));
+        }
+    }
+}
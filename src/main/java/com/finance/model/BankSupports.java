@@ -3,18 +3,41 @@ package com.finance.model;
 import com.finance.data.Bank;
 import com.finance.data.Support;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+//금융기관별 지원금액 통계
+//합계, 건수, 최소, 최대는 addSupports 할 때 누적하므로 조회할 때 다시 계산하지 않음
 public class BankSupports {
 
     private Bank bank;
+
+    //보관하지 않는 경우 null
     private List<Support> supports;
 
+    private long supportsTotal;
+    private long supportsCount;
+    private long supportsMin = Long.MAX_VALUE;
+    private long supportsMax = Long.MIN_VALUE;
+
     public BankSupports(Bank bank) {
+        this(bank, true);
+    }
+
+    //retainSupports 가 false 이면 통계만 누적하고 지원금액 데이터는 보관하지 않음
+    public BankSupports(Bank bank, boolean retainSupports) {
         this.bank = bank;
-        this.supports = new ArrayList<>();
+        this.supports = retainSupports ? new ArrayList<>() : null;
+    }
+
+    //미리 집계된 통계로 생성 (지원금액 데이터는 보관하지 않음)
+    public BankSupports(Bank bank, long supportsTotal, long supportsCount, long supportsMin, long supportsMax) {
+        this(bank, false);
+        this.supportsTotal = supportsTotal;
+        this.supportsCount = supportsCount;
+        this.supportsMin = supportsMin;
+        this.supportsMax = supportsMax;
     }
 
     public Bank getBank() {
@@ -25,24 +48,46 @@ public class BankSupports {
         this.bank = bank;
     }
 
+    //보관하지 않는 경우 빈 목록
     public List<Support> getSupports() {
-        return supports;
+        return supports == null ? Collections.<Support>emptyList() : supports;
     }
 
     public void addSupports(Support support) {
-        this.supports.add(support);
-    }
+        supportsTotal += support.getAmount();
+        supportsCount++;
+        supportsMin = Math.min(supportsMin, support.getAmount());
+        supportsMax = Math.max(supportsMax, support.getAmount());
 
-    public BigDecimal getSupportsTotal(){
-        BigDecimal supportSummary = BigDecimal.ZERO;
-        for(Support support : supports){
-            supportSummary = supportSummary.add(support.getAmount());
+        if(supports != null){
+            supports.add(support);
         }
+    }
+
+    //누적된 통계는 유지하고, 보관중인 지원금액 데이터는 버림
+    public void releaseSupports() {
+        this.supports = null;
+    }
+
+    public long getSupportsTotal(){
+        return supportsTotal;
+    }
+
+    public long getSupportsCount(){
+        return supportsCount;
+    }
+
+    //데이터가 없으면 Long.MAX_VALUE
+    public long getSupportsMin(){
+        return supportsMin;
+    }
 
-        return supportSummary;
+    //데이터가 없으면 Long.MIN_VALUE
+    public long getSupportsMax(){
+        return supportsMax;
     }
 
-    public BigDecimal getSupportsAverage(){
-        return BigDecimal.valueOf(getSupportsTotal().doubleValue() / supports.size());
+    public double getSupportsAverage(){
+        return (double) supportsTotal / supportsCount;
     }
 }
@@ -0,0 +1,50 @@
+package com.finance.model;
+
+import com.finance.forecast.ForecastErrors;
+
+//예측 모델 백테스트 결과 (전체 금융기관 x 월 시리즈의 rolling-origin 평가)
+public class ForecastBacktest {
+
+    private final String model;
+    private final int series;
+    private final ForecastErrors errors;
+    private final long elapsedMillis;
+
+    public ForecastBacktest(String model, int series, ForecastErrors errors, long elapsedMillis) {
+        this.model = model;
+        this.series = series;
+        this.errors = errors;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    //평가한 금융기관 x 월 시리즈 수
+    public int getSeries() {
+        return series;
+    }
+
+    //평가한 예측 건수
+    public long getForecasts() {
+        return errors.getCount();
+    }
+
+    public double getMae() {
+        return errors.getMae();
+    }
+
+    public double getRmse() {
+        return errors.getRmse();
+    }
+
+    public double getMape() {
+        return errors.getMape();
+    }
+
+    //소요시간 (ms)
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
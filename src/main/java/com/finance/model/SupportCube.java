@@ -0,0 +1,349 @@
+package com.finance.model;
+
+import com.finance.data.Bank;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+//연도 x 월 x 금융기관 지원금액 집계 큐브
+//만들어진 뒤에는 변경되지 않으므로, 조회 시 잠금 없이 읽을 수 있음
+public class SupportCube {
+
+    public static final int MONTHS = 12;
+
+    public static final SupportCube EMPTY = new Builder().build();
+
+    private final Map<Long, Bank> banks;
+    private final Map<String, Bank> banksByName;
+    private final SortedMap<Integer, Map<Long, Cells>> years;
+
+    //금융기관, 월별 예측 (처음 조회할 때 계산해서 보관)
+    //큐브의 데이터로만 계산하므로, 큐브가 바뀌지 않는 한 그대로 사용
+    private final ConcurrentMap<Long, SupportForecast> forecasts;
+
+    private SupportCube(Map<Long, Bank> banks, SortedMap<Integer, Map<Long, Cells>> years,
+                        ConcurrentMap<Long, SupportForecast> forecasts) {
+        this.banks = Collections.unmodifiableMap(new LinkedHashMap<>(banks));
+        this.years = Collections.unmodifiableSortedMap(years);
+        this.forecasts = forecasts;
+
+        //같은 이름의 기관이 여럿이면 첫번째 기관
+        Map<String, Bank> banksByName = new HashMap<>();
+        for (Bank bank : banks.values()) {
+            banksByName.putIfAbsent(bank.getBankName(), bank);
+        }
+        this.banksByName = Collections.unmodifiableMap(banksByName);
+    }
+
+    public boolean isEmpty() {
+        return years.isEmpty();
+    }
+
+    public Collection<Bank> getBanks() {
+        return banks.values();
+    }
+
+    public Bank getBank(Long bankId) {
+        return banks.get(bankId);
+    }
+
+    public Bank getBank(String bankName) {
+        return banksByName.get(bankName);
+    }
+
+    //연도 (오름차순)
+    public Set<Integer> getYears() {
+        return years.keySet();
+    }
+
+    //해당 연도, 금융기관의 집계 (없으면 null)
+    public Cells getCells(int year, Long bankId) {
+        Map<Long, Cells> yearCells = years.get(year);
+        return yearCells == null ? null : yearCells.get(bankId);
+    }
+
+    //해당 연도의 금융기관별 집계 (금융기관 순서)
+    public Map<Long, Cells> getCells(int year) {
+        Map<Long, Cells> yearCells = years.get(year);
+        return yearCells == null ? Collections.<Long, Cells>emptyMap() : Collections.unmodifiableMap(yearCells);
+    }
+
+    //금융기관, 월의 연도순 금액 (데이터가 있는 연도만)
+    public Series getSeries(Long bankId, int month) {
+        int[] seriesYears = new int[years.size()];
+        long[] amounts = new long[years.size()];
+        int size = 0;
+
+        Cells cells;
+        for (Map.Entry<Integer, Map<Long, Cells>> yearCells : years.entrySet()) {
+            cells = yearCells.getValue().get(bankId);
+
+            if (cells != null && cells.counts[month] > 0) {
+                amounts[size] = cells.totals[month];
+                seriesYears[size] = yearCells.getKey();
+                size++;
+            }
+        }
+
+        return new Series(Arrays.copyOf(seriesYears, size), Arrays.copyOf(amounts, size));
+    }
+
+    //금융기관, 월의 예측, 없으면 계산해서 보관 (계산 결과가 null 이면 보관하지 않음)
+    //병렬 계산 시 다른 시리즈를 막지 않도록 맵 잠금 밖에서 계산, 동시에 계산된 경우 먼저 보관된 예측을 사용
+    public SupportForecast computeForecastIfAbsent(Long bankId, int month, Supplier<SupportForecast> forecaster) {
+
+        Long key = seriesKey(bankId, month);
+        SupportForecast forecast = forecasts.get(key);
+
+        if(forecast == null){
+            forecast = forecaster.get();
+
+            if(forecast != null){
+                SupportForecast stored = forecasts.putIfAbsent(key, forecast);
+                forecast = stored == null ? forecast : stored;
+            }
+        }
+
+        return forecast;
+    }
+
+    private static long seriesKey(Long bankId, int month) {
+        return bankId * (MONTHS + 1) + month;
+    }
+
+    //금융기관, 월의 연도순 금액
+    public static class Series {
+
+        private final int[] years;
+        private final long[] amounts;
+
+        Series(int[] years, long[] amounts) {
+            this.years = years;
+            this.amounts = amounts;
+        }
+
+        public int size() {
+            return amounts.length;
+        }
+
+        public int getYear(int index) {
+            return years[index];
+        }
+
+        public long getAmount(int index) {
+            return amounts[index];
+        }
+
+        //연도순 금액 배열 (복사하지 않으므로 읽기 전용으로 사용)
+        public long[] getAmounts() {
+            return amounts;
+        }
+    }
+
+    //한 금융기관, 한 연도의 월별 집계
+    //인덱스 0은 연간 합계, 1~12는 해당 월
+    public static class Cells {
+
+        private final long[] totals = new long[MONTHS + 1];
+        private final long[] counts = new long[MONTHS + 1];
+        private final long[] mins = new long[MONTHS + 1];
+        private final long[] maxs = new long[MONTHS + 1];
+
+        Cells() {
+            Arrays.fill(mins, Long.MAX_VALUE);
+            Arrays.fill(maxs, Long.MIN_VALUE);
+        }
+
+        void add(int month, long total, long count, long min, long max) {
+            if (month >= 1 && month <= MONTHS) {
+                accumulate(month, total, count, min, max);
+            }
+            accumulate(0, total, count, min, max);
+        }
+
+        //해당 월을 금액 한 건으로 교체, 연간 합계도 차이만큼 조정
+        //연간 최소, 최대는 월별 집계로 다시 계산
+        void set(int month, long amount) {
+            totals[0] += amount - totals[month];
+            counts[0] += 1 - counts[month];
+
+            totals[month] = amount;
+            counts[month] = 1;
+            mins[month] = amount;
+            maxs[month] = amount;
+
+            mins[0] = Long.MAX_VALUE;
+            maxs[0] = Long.MIN_VALUE;
+            for (int index = 1; index <= MONTHS; index++) {
+                if (counts[index] > 0) {
+                    mins[0] = Math.min(mins[0], mins[index]);
+                    maxs[0] = Math.max(maxs[0], maxs[index]);
+                }
+            }
+        }
+
+        //다른 집계를 월별, 연간 합계 모두 그대로 더함
+        void merge(Cells other) {
+            for (int index = 0; index <= MONTHS; index++) {
+                if (other.counts[index] > 0) {
+                    accumulate(index, other.totals[index], other.counts[index], other.mins[index], other.maxs[index]);
+                }
+            }
+        }
+
+        Cells copy() {
+            Cells cells = new Cells();
+            System.arraycopy(totals, 0, cells.totals, 0, totals.length);
+            System.arraycopy(counts, 0, cells.counts, 0, counts.length);
+            System.arraycopy(mins, 0, cells.mins, 0, mins.length);
+            System.arraycopy(maxs, 0, cells.maxs, 0, maxs.length);
+            return cells;
+        }
+
+        private void accumulate(int index, long total, long count, long min, long max) {
+            totals[index] += total;
+            counts[index] += count;
+            mins[index] = Math.min(mins[index], min);
+            maxs[index] = Math.max(maxs[index], max);
+        }
+
+        public long getTotal() {
+            return totals[0];
+        }
+
+        public long getCount() {
+            return counts[0];
+        }
+
+        public long getMin() {
+            return mins[0];
+        }
+
+        public long getMax() {
+            return maxs[0];
+        }
+
+        public long getTotal(int month) {
+            return totals[month];
+        }
+
+        public long getCount(int month) {
+            return counts[month];
+        }
+
+        public long getMin(int month) {
+            return mins[month];
+        }
+
+        public long getMax(int month) {
+            return maxs[month];
+        }
+    }
+
+    //build 이후에는 사용하지 않음
+    //기존 큐브로 시작하면 바뀌는 연도, 셀만 복사하고 나머지는 기존 큐브와 공유
+    public static class Builder {
+
+        private final Map<Long, Bank> banks;
+        private final SortedMap<Integer, Map<Long, Cells>> years;
+
+        //기존 큐브에서 넘겨받는 예측, 데이터가 바뀐 금융기관, 월은 제외
+        private final ConcurrentMap<Long, SupportForecast> forecasts;
+
+        //이 빌더에서 새로 만든 (수정해도 되는) 연도, 셀
+        private final Set<Map<Long, Cells>> ownedYears = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Set<Cells> ownedCells = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        public Builder() {
+            this.banks = new TreeMap<>();
+            this.years = new TreeMap<>();
+            this.forecasts = new ConcurrentHashMap<>();
+        }
+
+        public Builder(SupportCube base) {
+            this.banks = new TreeMap<>(base.banks);
+            this.years = new TreeMap<>(base.years);
+            this.forecasts = new ConcurrentHashMap<>(base.forecasts);
+        }
+
+        //월이 1~12가 아니면 연간 합계에만 반영
+        public Builder add(Bank bank, int year, int month, long total, long count, long min, long max) {
+            cells(bank, year).add(month, total, count, min, max);
+            forecasts.remove(seriesKey(bank.getId(), month));
+            return this;
+        }
+
+        //해당 월의 집계를 금액 한 건으로 교체 (월은 1~12)
+        public Builder set(Bank bank, int year, int month, long amount) {
+            cells(bank, year).set(month, amount);
+            forecasts.remove(seriesKey(bank.getId(), month));
+            return this;
+        }
+
+        //다른 큐브의 집계를 모두 더함
+        public Builder addAll(SupportCube cube) {
+            for (Map.Entry<Integer, Map<Long, Cells>> yearCells : cube.years.entrySet()) {
+                for (Map.Entry<Long, Cells> cells : yearCells.getValue().entrySet()) {
+                    cells(cube.getBank(cells.getKey()), yearCells.getKey()).merge(cells.getValue());
+
+                    for (int month = 1; month <= MONTHS; month++) {
+                        if (cells.getValue().counts[month] > 0) {
+                            forecasts.remove(seriesKey(cells.getKey(), month));
+                        }
+                    }
+                }
+            }
+            return this;
+        }
+
+        //다른 큐브에 있는 월별 집계로 교체
+        public Builder setAll(SupportCube cube) {
+            Cells target;
+            for (Map.Entry<Integer, Map<Long, Cells>> yearCells : cube.years.entrySet()) {
+                for (Map.Entry<Long, Cells> cells : yearCells.getValue().entrySet()) {
+                    target = cells(cube.getBank(cells.getKey()), yearCells.getKey());
+
+                    for (int month = 1; month <= MONTHS; month++) {
+                        if (cells.getValue().counts[month] > 0) {
+                            target.set(month, cells.getValue().totals[month]);
+                            forecasts.remove(seriesKey(cells.getKey(), month));
+                        }
+                    }
+                }
+            }
+            return this;
+        }
+
+        //지금까지 반영된 해당 연도, 금융기관의 집계 (없으면 null, 읽기 전용으로 사용)
+        public Cells getCells(int year, Long bankId) {
+            Map<Long, Cells> yearCells = years.get(year);
+            return yearCells == null ? null : yearCells.get(bankId);
+        }
+
+        public SupportCube build() {
+            return new SupportCube(banks, years, forecasts);
+        }
+
+        private Cells cells(Bank bank, int year) {
+            banks.putIfAbsent(bank.getId(), bank);
+
+            Map<Long, Cells> yearCells = years.get(year);
+            if (yearCells == null || !ownedYears.contains(yearCells)) {
+                yearCells = yearCells == null ? new TreeMap<>() : new TreeMap<>(yearCells);
+                ownedYears.add(yearCells);
+                years.put(year, yearCells);
+            }
+
+            Cells cells = yearCells.get(bank.getId());
+            if (cells == null || !ownedCells.contains(cells)) {
+                cells = cells == null ? new Cells() : cells.copy();
+                ownedCells.add(cells);
+                yearCells.put(bank.getId(), cells);
+            }
+
+            return cells;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.finance.model;
+
+import com.finance.exception.WrongParameterException;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+//통계 조회 조건 (연도 범위, 월, 금융기관명)
+//지정하지 않은 조건(null, 빈 목록)은 전체
+public class SupportFilter {
+
+    public static final SupportFilter ALL = new SupportFilter(null, null, null, null);
+
+    private final Integer fromYear;
+    private final Integer toYear;
+
+    //인덱스 1~12 월 포함 여부, null 이면 전체 월
+    private final boolean[] months;
+
+    private final Set<String> bankNames;
+
+    //월이 1 ~ 12 가 아니거나, 시작 연도가 끝 연도보다 크면 WrongParameterException
+    public SupportFilter(Integer fromYear, Integer toYear, Collection<Integer> months, Collection<String> bankNames) {
+        if(fromYear != null && toYear != null && fromYear > toYear){
+            throw new WrongParameterException();
+        }
+
+        this.fromYear = fromYear;
+        this.toYear = toYear;
+
+        if(months == null || months.isEmpty()) {
+            this.months = null;
+        } else {
+            this.months = new boolean[SupportCube.MONTHS + 1];
+
+            for(Integer month : months){
+                if(month == null || month < 1 || month > SupportCube.MONTHS){
+                    throw new WrongParameterException();
+                }
+                this.months[month] = true;
+            }
+        }
+
+        this.bankNames = bankNames == null || bankNames.isEmpty()
+                ? null
+                : Collections.unmodifiableSet(new HashSet<>(bankNames));
+    }
+
+    public boolean includesYear(int year) {
+        return (fromYear == null || year >= fromYear) && (toYear == null || year <= toYear);
+    }
+
+    //월 조건이 있는지 (없으면 연간 합계를 그대로 사용)
+    public boolean hasMonths() {
+        return months != null;
+    }
+
+    public boolean includesMonth(int month) {
+        return months == null || months[month];
+    }
+
+    public boolean includesBank(String bankName) {
+        return bankNames == null || bankNames.contains(bankName);
+    }
+}
@@ -0,0 +1,44 @@
+package com.finance.model;
+
+import com.finance.data.Bank;
+
+//금융기관, 월별 차년도 지원금액 예측
+public class SupportForecast {
+
+    private final Bank bank;
+    private final int year;
+    private final int month;
+    private final String model;
+    private final long amount;
+
+    public SupportForecast(Bank bank, int year, int month, String model, long amount) {
+        this.bank = bank;
+        this.year = year;
+        this.month = month;
+        this.model = model;
+        this.amount = amount;
+    }
+
+    public Bank getBank() {
+        return bank;
+    }
+
+    //예측 연도 (마지막 데이터의 차년도)
+    public int getYear() {
+        return year;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    //예측 모델 이름
+    public String getModel() {
+        return model;
+    }
+
+    //예측 금액
+    public long getAmount() {
+        return amount;
+    }
+}
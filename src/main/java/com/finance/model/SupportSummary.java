@@ -0,0 +1,58 @@
+package com.finance.model;
+
+//금융기관별, 연도, 월별 지원금액 집계 (DB에서 GROUP BY 로 계산된 결과)
+public class SupportSummary {
+
+    private Long bankId;
+    private String bankName;
+    private int year;
+    private int month;
+    private long total;
+    private long count;
+    private long min;
+    private long max;
+
+    public SupportSummary(Long bankId, String bankName, Integer year, Integer month,
+                          Long total, Long count, Long min, Long max) {
+        this.bankId = bankId;
+        this.bankName = bankName;
+        this.year = year;
+        this.month = month;
+        this.total = total;
+        this.count = count;
+        this.min = min;
+        this.max = max;
+    }
+
+    public Long getBankId() {
+        return bankId;
+    }
+
+    public String getBankName() {
+        return bankName;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+}
@@ -0,0 +1,101 @@
+package com.finance.model;
+
+import com.mixin.UploadJobStatus;
+import com.mixin.UploadMode;
+
+//비동기 업로드 작업 상태
+//업로드 스레드가 갱신하고 조회 API가 읽으므로, 상태 값은 volatile 로 보관
+public class UploadJob {
+
+    private final String jobId;
+    private final UploadMode mode;
+    private final long queuedAt;
+
+    private volatile UploadJobStatus status = UploadJobStatus.QUEUED;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile long rows;
+    private volatile UploadStatics uploadStatics;
+    private volatile String error;
+
+    public UploadJob(String jobId, UploadMode mode) {
+        this.jobId = jobId;
+        this.mode = mode;
+        this.queuedAt = System.currentTimeMillis();
+    }
+
+    public void start() {
+        startedAt = System.currentTimeMillis();
+        status = UploadJobStatus.RUNNING;
+    }
+
+    //지금까지 저장한 데이터 행 수
+    public void progress(long rows) {
+        this.rows = rows;
+    }
+
+    public void complete(UploadStatics uploadStatics) {
+        this.uploadStatics = uploadStatics;
+        this.rows = uploadStatics.getRows();
+        finishedAt = System.currentTimeMillis();
+        status = UploadJobStatus.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        finishedAt = System.currentTimeMillis();
+        status = UploadJobStatus.FAILED;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public UploadMode getMode() {
+        return mode;
+    }
+
+    public UploadJobStatus getStatus() {
+        return status;
+    }
+
+    public boolean isFinished() {
+        UploadJobStatus current = status;
+        return current == UploadJobStatus.COMPLETED || current == UploadJobStatus.FAILED;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    //대기 시간 제외, 실행 시작부터 (끝났으면 끝날 때까지) 걸린 시간
+    public long getElapsedMillis() {
+        long started = startedAt;
+        if(started == 0){
+            return 0;
+        }
+
+        long finished = finishedAt;
+        return (finished == 0 ? System.currentTimeMillis() : finished) - started;
+    }
+
+    //초당 처리 행 수
+    public double getRowsPerSecond() {
+        long elapsedMillis = getElapsedMillis();
+        return elapsedMillis == 0 ? 0 : rows * 1000.0 / elapsedMillis;
+    }
+
+    public long getQueuedAt() {
+        return queuedAt;
+    }
+
+    //완료된 경우 업로드 통계, 아니면 null
+    public UploadStatics getUploadStatics() {
+        return uploadStatics;
+    }
+
+    //실패한 경우 오류, 아니면 null
+    public String getError() {
+        return error;
+    }
+}
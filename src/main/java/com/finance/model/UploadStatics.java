@@ -0,0 +1,57 @@
+package com.finance.model;
+
+public class UploadStatics {
+
+    private String result;
+    private long rows;
+    private int banks;
+    private long inserted;
+    private long updated;
+    private long unchanged;
+    private long elapsedMillis;
+
+    public UploadStatics(String result, long rows, int banks,
+                         long inserted, long updated, long unchanged, long elapsedMillis) {
+        this.result = result;
+        this.rows = rows;
+        this.banks = banks;
+        this.inserted = inserted;
+        this.updated = updated;
+        this.unchanged = unchanged;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    //저장된 데이터 행(연도, 월) 수
+    public long getRows() {
+        return rows;
+    }
+
+    //저장된 금융기관 수
+    public int getBanks() {
+        return banks;
+    }
+
+    //새로 저장된 지원금액 데이터 수
+    public long getInserted() {
+        return inserted;
+    }
+
+    //금액이 바뀌어 수정된 지원금액 데이터 수 (UPSERT)
+    public long getUpdated() {
+        return updated;
+    }
+
+    //금액이 같아서 저장하지 않은 지원금액 데이터 수 (UPSERT)
+    public long getUnchanged() {
+        return unchanged;
+    }
+
+    //업로드 처리 소요시간 (ms)
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
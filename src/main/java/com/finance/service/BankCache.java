@@ -0,0 +1,121 @@
+package com.finance.service;
+
+import com.finance.data.Bank;
+import com.finance.data.BankRepository;
+
+import java.util.*;
+
+//금융기관 캐시 (금융기관명, id -> 금융기관)
+//처음 조회할 때 DB에서 한번 읽어서 불변 스냅샷으로 보관하고, 새 금융기관은 커밋된 뒤에 (publish) 스냅샷을 복사해서 추가
+//무효화하면 (업로드 실패 등) 커밋되지 않은 금융기관은 버리고, 다음 조회 시 DB에서 다시 읽음
+//resolve, publish, invalidate 는 데이터를 바꾸는 작업 (FinanceService 쓰기 잠금) 안에서만 호출
+public class BankCache {
+
+    private final BankRepository bankRepository;
+
+    private volatile Snapshot snapshot;
+
+    //저장했지만 아직 커밋되지 않은 새 금융기관 (금융기관명 -> 금융기관), publish 전까지 조회에 보이지 않음
+    private final Map<String, Bank> pendingBanks = new LinkedHashMap<>();
+
+    public BankCache(BankRepository bankRepository) {
+        this.bankRepository = bankRepository;
+    }
+
+    //전체 금융기관 목록 (저장 순서, 읽기 전용)
+    public List<Bank> getBanks() {
+        return snapshot().banks;
+    }
+
+    public Bank getBank(String bankName) {
+        return snapshot().banksByName.get(bankName);
+    }
+
+    public Bank getBank(Long bankId) {
+        return snapshot().banksById.get(bankId);
+    }
+
+    //금융기관명으로 저장된 금융기관을 찾고, 없으면 새로 저장 (커밋될 때까지 조회에는 보이지 않음)
+    public synchronized Bank resolve(String bankName) {
+        Bank bank = snapshot().banksByName.get(bankName);
+
+        if(bank == null){
+            bank = pendingBanks.get(bankName);
+        }
+
+        if(bank == null){
+            bank = bankRepository.save(new Bank(bankName));
+            pendingBanks.put(bankName, bank);
+        }
+
+        return bank;
+    }
+
+    //새 금융기관을 저장한 트랜잭션이 커밋된 뒤 호출, 스냅샷에 추가
+    public synchronized void publish() {
+        if(pendingBanks.isEmpty()){
+            return;
+        }
+
+        Snapshot current = snapshot();
+        List<Bank> banks = new ArrayList<>(current.banks);
+
+        for(Bank bank : pendingBanks.values()){
+            //커밋된 뒤에 DB에서 다시 읽은 스냅샷에는 이미 있음
+            if(!current.banksById.containsKey(bank.getId())){
+                banks.add(bank);
+            }
+        }
+
+        pendingBanks.clear();
+        snapshot = new Snapshot(banks);
+    }
+
+    public synchronized void invalidate() {
+        pendingBanks.clear();
+        snapshot = null;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+
+        if(current == null){
+            synchronized (this){
+                current = snapshot;
+                if(current == null){
+                    List<Bank> banks = new ArrayList<>();
+                    bankRepository.findAll().forEach(banks::add);
+
+                    current = new Snapshot(banks);
+                    snapshot = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    private static final class Snapshot {
+
+        private final List<Bank> banks;
+        private final Map<String, Bank> banksByName;
+        private final Map<Long, Bank> banksById;
+
+        private Snapshot(List<Bank> banks) {
+            this.banks = Collections.unmodifiableList(banks);
+
+            Map<String, Bank> byName = new HashMap<>();
+            Map<Long, Bank> byId = new HashMap<>();
+
+            for(Bank bank : banks){
+                //같은 이름의 기관이 여럿이면 첫번째 기관
+                byName.merge(bank.getBankName(), bank,
+                        (first, other) -> first.getId() <= other.getId() ? first : other);
+                byId.put(bank.getId(), bank);
+            }
+
+            this.banksByName = byName;
+            this.banksById = byId;
+        }
+    }
+}
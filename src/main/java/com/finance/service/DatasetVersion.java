@@ -0,0 +1,67 @@
+package com.finance.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+//데이터셋 버전 (업로드가 끝날 때마다 증가)
+//조회 API는 버전으로 ETag, Last-Modified 를 만들어서, 바뀌지 않았으면 서비스를 호출하지 않고 304 응답
+@Component
+public class DatasetVersion {
+
+    //기동할 때마다 버전이 0부터 다시 시작하므로, 기동 시각을 ETag 에 같이 넣어서 이전 기동의 ETag 와 구분
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicReference<Snapshot> current =
+            new AtomicReference<>(new Snapshot(epoch, 0L, System.currentTimeMillis()));
+
+    public Snapshot current() {
+        return current.get();
+    }
+
+    //데이터가 바뀐 뒤(업로드가 끝난 뒤)에 호출해야, 새 ETag 로 이전 데이터가 캐시되지 않음
+    public Snapshot increment() {
+        return current.updateAndGet(snapshot ->
+                new Snapshot(epoch, snapshot.version + 1, nextLastModified(snapshot.lastModified)));
+    }
+
+    //Last-Modified, If-Modified-Since 는 초 단위이므로, 같은 초에 버전이 바뀌어도 이전 버전보다 늦은 초가 되도록
+    //(ETag 없이 If-Modified-Since 만 보내는 클라이언트가 이전 데이터로 304 를 받지 않도록)
+    private static long nextLastModified(long previous) {
+        return Math.max(System.currentTimeMillis(), (previous / 1000 + 1) * 1000);
+    }
+
+    //버전별 ETag, Last-Modified (버전과 같이 바뀌도록 한 객체로 보관)
+    public static final class Snapshot {
+
+        private final long version;
+        private final long lastModified;
+        private final String eTag;
+        private final String ndjsonETag;
+
+        private Snapshot(String epoch, long version, long lastModified) {
+            this.version = version;
+            this.lastModified = lastModified;
+            this.eTag = "\"" + epoch + "-" + version + "\"";
+            this.ndjsonETag = "\"" + epoch + "-" + version + "-ndjson\"";
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        //JSON 응답 ETag
+        public String getETag() {
+            return eTag;
+        }
+
+        //같은 URL의 NDJSON 응답 ETag (표현이 다르므로 구분)
+        public String getNdjsonETag() {
+            return ndjsonETag;
+        }
+    }
+}
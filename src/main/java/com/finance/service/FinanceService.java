@@ -6,30 +6,115 @@ import com.finance.data.Support;
 import com.finance.data.SupportRepository;
 import com.finance.exception.NotFoundException;
 import com.finance.exception.WrongFormFileException;
+import com.finance.exception.WrongParameterException;
+import com.finance.forecast.ForecastErrors;
+import com.finance.forecast.ForecastModel;
+import com.finance.forecast.ForecastModels;
+import com.finance.ingest.CompressedInput;
+import com.finance.ingest.SupportCsvReader;
+import com.finance.ingest.SupportRows;
+import com.finance.ingest.SupportSnapshot;
 import com.finance.model.BankSupports;
+import com.finance.model.ForecastBacktest;
+import com.finance.model.SupportCube;
+import com.finance.model.SupportFilter;
+import com.finance.model.SupportForecast;
+import com.finance.model.SupportSummary;
+import com.finance.model.UploadStatics;
+import com.mixin.UploadMode;
 import com.mixin.UploadResult;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVRecord;
-import org.apache.commons.math3.fitting.PolynomialCurveFitter;
-import org.apache.commons.math3.fitting.WeightedObservedPoints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.BufferedReader;
+import javax.annotation.PreDestroy;
 import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.math.BigDecimal;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.zip.ZipException;
 
 @Service
 public class FinanceService {
 
-    private final BankRepository bankRepository;
+    //업로드 시 한번에 저장하는 지원금액 데이터 건수
+    private static final int UPLOAD_CHUNK_SIZE = 1000;
+
+    //업로드 파일 문자셋
+    private static final Charset EUC_KR = Charset.forName("EUC-KR");
+
+
     private final SupportRepository supportRepository;
 
+    //지원금액 통계 큐브, 새로 만든 큐브로 통째로 교체
+    private final AtomicReference<SupportCube> supportCube = new AtomicReference<>(SupportCube.EMPTY);
+
+    //금융기관 캐시, 조회 API와 업로드 시 이미 저장된 금융기관을 찾는 용도 (처음 조회 시 로딩)
+    private final BankCache bankCache;
+
+    //데이터를 바꾸는 작업 (모든 모드의 업로드, 큐브 재생성, 스냅샷 적재) 은 한번에 하나씩
+    //업로드는 커밋과 큐브 반영이 끝날 때까지 잡고 있어서, 큐브 갱신이 서로 덮어쓰지 않고 다음 업로드가 저장 결과를 봄
+    private final Object writeLock = new Object();
+
+    //업로드 전체, 스냅샷 적재 전체를 한 트랜잭션으로 저장 (없으면 묶음별로 저장, 저장소를 직접 넘겨 만든 경우)
+    private final PlatformTransactionManager transactionManager;
+    private final TransactionTemplate transactionTemplate;
+
+    //예측 계산 전용 ForkJoinPool (금융기관 x 월 시리즈별로 병렬 계산)
+    private final ForkJoinPool forecastPool;
+
+    //업로드 파일 파싱 전용 ForkJoinPool (청크별로 병렬 파싱)
+    private final ForkJoinPool parsePool;
+    private final int parseParallelism;
+
     public FinanceService(BankRepository bankRepository, SupportRepository supportRepository) {
-        this.bankRepository = bankRepository;
+        this(bankRepository, supportRepository, 0);
+    }
+
+    public FinanceService(BankRepository bankRepository, SupportRepository supportRepository, int forecastParallelism) {
+        this(bankRepository, supportRepository, forecastParallelism, 0);
+    }
+
+    public FinanceService(BankRepository bankRepository, SupportRepository supportRepository,
+                          int forecastParallelism, int parseParallelism) {
+        this(bankRepository, supportRepository, null, forecastParallelism, parseParallelism);
+    }
+
+    //forecastParallelism : 예측 계산 병렬도, parseParallelism : 업로드 파일 파싱 병렬도 (0 이하이면 CPU 코어 수)
+    @Autowired
+    public FinanceService(BankRepository bankRepository, SupportRepository supportRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${finance.forecast.parallelism:0}") int forecastParallelism,
+                          @Value("${finance.upload.parse.parallelism:0}") int parseParallelism) {
         this.supportRepository = supportRepository;
+        this.transactionManager = transactionManager;
+        this.transactionTemplate = transactionManager == null ? null : new TransactionTemplate(transactionManager);
+        this.bankCache = new BankCache(bankRepository);
+        this.forecastPool = new ForkJoinPool(
+                forecastParallelism > 0 ? forecastParallelism : Runtime.getRuntime().availableProcessors());
+        this.parseParallelism = parseParallelism > 0 ? parseParallelism : Runtime.getRuntime().availableProcessors();
+        this.parsePool = new ForkJoinPool(this.parseParallelism);
+    }
+
+    @PreDestroy
+    public void shutdownPools() {
+        forecastPool.shutdown();
+        parsePool.shutdown();
     }
 
     //기관별 주택 신용보증 금액 파일 데이터 Upload
@@ -37,209 +122,741 @@ public class FinanceService {
 
         if(fileBytes == null) return UploadResult.NO_FILE;
 
-        ByteArrayInputStream byteIs = new ByteArrayInputStream(fileBytes);
-        Reader reader  =  new BufferedReader(new InputStreamReader(byteIs,"EUC-KR"));
-        List<CSVRecord> records = CSVFormat.DEFAULT.parse(reader).getRecords();
+        return streamUploadSupportData(new ByteArrayInputStream(fileBytes)).getResult();
+    }
 
-        //첫줄은 헤더
-        CSVRecord headerRecord = records.get(0);
+    //기관별 주택 신용보증 금액 파일 데이터 Upload (스트리밍)
+    public UploadStatics streamUploadSupportData(InputStream fileStream) throws Exception {
+        return streamUploadSupportData(fileStream, UploadMode.APPEND);
+    }
 
-        //첫번째, 두번째 컬럼은 연도와 월 이므로 세번째 컬럼부터 체크
-        if(!"연도".equals(headerRecord.get(0)) || !"월".equals(headerRecord.get(1))){
-            throw new WrongFormFileException();
+    //기관별 주택 신용보증 금액 파일 데이터 Upload (스트리밍)
+    //전체 레코드를 메모리에 올리지 않고, 한 레코드씩 읽으면서 바로 저장
+    //업로드는 모드와 관계없이 한번에 하나씩 처리 (UPSERT 는 같은 파일을 동시에 올려도 중복되지 않도록)
+    public UploadStatics streamUploadSupportData(InputStream fileStream, UploadMode mode) throws Exception {
+        return streamUploadSupportData(fileStream, mode, rows -> {});
+    }
+
+    //기관별 주택 신용보증 금액 파일 데이터 Upload (스트리밍, 진행상황 전달)
+    //rowsProgress : 한 묶음씩 저장할 때마다 지금까지 저장한 데이터 행(연도, 월) 수
+    //파일 전체를 한 트랜잭션으로 저장하고, 중간에 실패하면 (잘못된 행, 읽기 오류 등) 이미 저장한 묶음까지 모두 취소
+    //실패하면 금융기관 캐시를 무효화하고 통계 큐브를 DB 기준으로 다시 만들어서, 조회 결과가 DB 와 달라지지 않도록
+    public UploadStatics streamUploadSupportData(InputStream fileStream, UploadMode mode,
+                                                 LongConsumer rowsProgress) throws Exception {
+
+        synchronized (writeLock){
+            try {
+                UploadStatics uploadStatics = uploadInTransaction(fileStream, mode, rowsProgress);
+
+                //커밋된 뒤에 새 금융기관을 조회에 반영
+                bankCache.publish();
+
+                return uploadStatics;
+            } catch (Exception | Error e) {
+                bankCache.invalidate();
+                try {
+                    refreshSupportCube();
+                } catch (RuntimeException refreshException) {
+                    e.addSuppressed(refreshException);
+                }
+                throw e;
+            }
         }
+    }
 
-        Map<Integer, Bank> banks = new HashMap<>();
-        String bankName;
+    private UploadStatics uploadInTransaction(InputStream fileStream, UploadMode mode,
+                                              LongConsumer rowsProgress) throws Exception {
 
-        for(int index = 2; index < headerRecord.size(); index++){
-            bankName = headerRecord.get(index);
+        if(transactionManager == null){
+            return uploadSupportData(fileStream, mode, rowsProgress);
+        }
 
-            //없으면 멈춤
-            if(bankName.isEmpty()){
-                break;
-            }else{
-                bankName = bankName.replaceAll("[(억원)]","");
-                banks.put(index, new Bank(bankName));
-            }
+        TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+        UploadStatics uploadStatics;
+
+        try {
+            uploadStatics = uploadSupportData(fileStream, mode, rowsProgress);
+        } catch (Exception | Error e) {
+            transactionManager.rollback(transaction);
+            throw e;
         }
 
-        CSVRecord amountRecord;
-        String year;
-        String month;
+        transactionManager.commit(transaction);
+        return uploadStatics;
+    }
+
+    private UploadStatics uploadSupportData(InputStream fileStream, UploadMode mode,
+                                            LongConsumer rowsProgress) throws Exception {
+
+        long startTime = System.currentTimeMillis();
+
+        //gzip, zip 으로 압축된 파일은 읽으면서 압축 해제
+        //줄 단위 청크로 읽어서 파싱은 파싱 전용 풀에서 병렬로, 저장은 이 스레드에서 파일 순서대로
+        try (SupportCsvReader reader = new SupportCsvReader(
+                CompressedInput.decompress(fileStream), EUC_KR, parseParallelism > 1 ? parsePool : null,
+                SupportCsvReader.DEFAULT_CHUNK_SIZE, parseParallelism * 2)) {
+
+            //첫줄은 헤더, 없으면 잘못된 포맷
+            List<String> headerColumns = reader.readHeader();
+            if(headerColumns == null){
+                throw new WrongFormFileException();
+            }
 
-        Set<Support> supports = new HashSet<>();
-        Bank supportBank;
-        BigDecimal amount;
+            //첫번째, 두번째 컬럼은 연도와 월 이므로 세번째 컬럼부터 체크
+            if(headerColumns.size() < 2
+                    || !"연도".equals(headerColumns.get(0)) || !"월".equals(headerColumns.get(1))){
+                throw new WrongFormFileException();
+            }
 
-        for (int index = 1; index < records.size(); index++){
-            amountRecord = records.get(index);
+            List<Bank> banks = new ArrayList<>();
+            String bankName;
 
-            year = amountRecord.get(0);
-            month = amountRecord.get(1);
+            for(int index = 2; index < headerColumns.size(); index++){
+                bankName = headerColumns.get(index);
 
-            //금융기관의 숫자만큼
-            for (int bankIndex : banks.keySet()){
+                //없으면 멈춤
+                if(bankName.isEmpty()){
+                    break;
+                }else{
+                    banks.add(bankCache.resolve(SupportCsvReader.toBankName(bankName)));
+                }
+            }
 
-                supportBank = banks.get(bankIndex);
-                amount = BigDecimal.valueOf(
-                            Long.valueOf(
-                                amountRecord.get(bankIndex)
-                                    .replaceAll(",","")
-                ));
+            SupportRows chunkRows;
+            Bank bank;
+            int year;
+            int month;
+
+            long amount;
+            long rows = 0;
+            long inserted = 0;
+            long updated = 0;
+            long unchanged = 0;
+
+            //일정 건수씩 모아서 배치 저장, 메모리에는 한 묶음만 유지
+            List<Support> supports = new ArrayList<>(UPLOAD_CHUNK_SIZE);
+
+            //이번 업로드분 집계, 저장이 끝나면 기존 큐브에 반영
+            SupportCube.Builder uploadCube = new SupportCube.Builder();
+
+            //UPSERT 는 현재 큐브의 월별 집계와 비교해서 바뀐 데이터만 저장
+            //같은 파일에서 다시 나온 금융기관, 연도, 월은 이번 업로드분 집계와 비교 (이미 저장했으므로 수정)
+            SupportCube storedCube = supportCube.get();
+            SupportCube.Cells storedCells;
+            SupportCube.Cells uploadCells;
+            long storedCount;
+
+            //연도, 월이 올바르지 않거나 금액이 숫자가 아니면 파서에서 잘못된 포맷
+            while ((chunkRows = reader.next(banks.size())) != null){
+
+                for(int row = 0; row < chunkRows.size(); row++){
+
+                    year = chunkRows.getYear(row);
+                    month = chunkRows.getMonth(row);
+
+                    //금융기관의 숫자만큼
+                    for(int column = 0; column < banks.size(); column++){
+
+                        bank = banks.get(column);
+                        amount = chunkRows.getAmount(row, column);
+
+                        if(mode == UploadMode.UPSERT){
+
+                            uploadCells = uploadCube.getCells(year, bank.getId());
+
+                            if(uploadCells != null && uploadCells.getCount(month) > 0){
+
+                                if(uploadCells.getTotal(month) == amount){
+                                    unchanged++;
+                                    continue;
+                                }
+
+                                //저장 대기중인 묶음에 있을 수 있으므로 먼저 저장하고 찾아서 수정
+                                if(!supports.isEmpty()){
+                                    supportRepository.saveAllInBatch(supports);
+                                    supports = new ArrayList<>(UPLOAD_CHUNK_SIZE);
+                                }
+
+                                supports.add(findStoredSupport(bank, year, month, amount));
+                                updated++;
+                                uploadCube.set(bank, year, month, amount);
+                                continue;
+                            }
+
+                            storedCells = storedCube.getCells(year, bank.getId());
+                            storedCount = storedCells == null ? 0 : storedCells.getCount(month);
+
+                            //금액이 같으면 저장하지 않음
+                            if(storedCount == 1 && storedCells.getTotal(month) == amount){
+                                unchanged++;
+                                continue;
+                            }
+
+                            if(storedCount > 0){
+                                supports.add(findStoredSupport(bank, year, month, amount));
+                                updated++;
+                            }else{
+                                supports.add(new Support(bank, year, month, amount));
+                                inserted++;
+                            }
+
+                            uploadCube.set(bank, year, month, amount);
+
+                        }else{
+
+                            supports.add(new Support(bank, year, month, amount));
+                            inserted++;
+
+                            uploadCube.add(
+                                    bank,
+                                    year,
+                                    month,
+                                    amount,
+                                    1,
+                                    amount,
+                                    amount);
+                        }
+                    }
+
+                    rows++;
+
+                    if(supports.size() >= UPLOAD_CHUNK_SIZE){
+                        supportRepository.saveAllInBatch(supports);
+                        supports = new ArrayList<>(UPLOAD_CHUNK_SIZE);
+                        rowsProgress.accept(rows);
+                    }
+                }
+            }
 
-                supports.add(
-                        new Support(
-                                supportBank,
-                                year,
-                                month,
-                                amount
-                        ));
+            if(!supports.isEmpty()){
+                supportRepository.saveAllInBatch(supports);
             }
+            rowsProgress.accept(rows);
+            //업로드된 연도, 금융기관 셀만 통계 큐브에 반영
+            updateSupportCube(uploadCube.build(), mode);
+
+            return new UploadStatics(
+                    UploadResult.OK,
+                    rows,
+                    banks.size(),
+                    inserted,
+                    updated,
+                    unchanged,
+                    System.currentTimeMillis() - startTime);
+
+        } catch (ZipException | EOFException e) {
+            //압축 파일이 깨졌거나 중간에 잘린 경우
+            throw new WrongFormFileException();
         }
+    }
+
+    //저장된 지원금액 데이터를 찾아서 금액 수정
+    //같은 금융기관, 연도, 월로 중복 저장된 데이터는 하나만 남기고 삭제
+    private Support findStoredSupport(Bank bank, int year, int month, long amount){
+        List<Support> storedSupports = supportRepository.findByBankAndYearAndMonth(bank, year, month);
 
-        for (Bank bank : banks.values()){
-            bankRepository.save(bank);
+        if(storedSupports.isEmpty()){
+            return new Support(bank, year, month, amount);
         }
 
-        for (Support support : supports){
-            supportRepository.save(support);
+        if(storedSupports.size() > 1){
+            supportRepository.deleteAll(storedSupports.subList(1, storedSupports.size()));
         }
 
-        return UploadResult.OK;
+        Support support = storedSupports.get(0);
+        support.setAmount(amount);
+
+        return support;
     }
 
-    //전체 금융기관 목록 조회
+    //전체 금융기관 목록 조회 (금융기관 캐시에서, 읽기 전용)
     public List<Bank> findAllBanks() {
-        return (List<Bank>) bankRepository.findAll();
+        return bankCache.getBanks();
+    }
+
+    //지원금액 통계 큐브 조회
+    public SupportCube getSupportCube() {
+        return supportCube.get();
+    }
+
+    //지원금액 통계 큐브를 DB 집계로 새로 생성 후 교체 (기동 시, 업로드 실패 시)
+    //진행중인 업로드, 스냅샷 적재가 끝난 뒤에 집계
+    //기동 시에는 스냅샷 적재(SupportSnapshotService)보다 먼저 실행
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void refreshSupportCube() {
+
+        synchronized (writeLock){
+            SupportCube.Builder builder = new SupportCube.Builder();
+            Map<Long, Bank> banks = new HashMap<>();
+
+            for(SupportSummary summary : supportRepository.summarizeByBankAndYearAndMonth()){
+                builder.add(
+                        toBank(banks, summary),
+                        summary.getYear(),
+                        summary.getMonth(),
+                        summary.getTotal(),
+                        summary.getCount(),
+                        summary.getMin(),
+                        summary.getMax());
+            }
+
+            supportCube.set(builder.build());
+        }
+    }
+
+    //업로드된 데이터의 집계만 기존 큐브에 반영해서 교체 (APPEND 는 더하고, UPSERT 는 해당 월을 교체)
+    //전체 데이터를 다시 집계하지 않으므로, 쌓인 데이터 양과 관계없이 업로드 분량만큼만 처리
+    //쓰기 잠금 안에서만 호출
+    private void updateSupportCube(SupportCube uploadCube, UploadMode mode) {
+        SupportCube.Builder builder = new SupportCube.Builder(supportCube.get());
+
+        if(mode == UploadMode.UPSERT){
+            builder.setAll(uploadCube);
+        }else{
+            builder.addAll(uploadCube);
+        }
+
+        supportCube.set(builder.build());
+    }
+
+    //저장된 금융기관, 지원금액 데이터 스냅샷 생성
+    //쓰기 잠금 안에서 읽으므로 진행중인 업로드, 적재가 없고, 금융기관 캐시와 지원금액 데이터가 모두 커밋된 상태
+    //(새 금융기관은 커밋된 뒤에 캐시에 추가되므로, 잠금 없이 읽으면 커밋된 지원금액의 금융기관이 캐시에 없을 수 있음)
+    public SupportSnapshot createSnapshot() {
+
+        synchronized (writeLock){
+            List<Object[]> supportValues = supportRepository.findAllSupportValues();
+
+            SupportSnapshot.Builder builder = new SupportSnapshot.Builder();
+            Map<Long, Integer> bankIndexes = new HashMap<>();
+
+            for(Bank bank : bankCache.getBanks()){
+                bankIndexes.put(bank.getId(), builder.addBank(bank.getBankName()));
+            }
+
+            for(Object[] values : supportValues){
+                builder.add(
+                        bankIndexes.get(((Number) values[0]).longValue()),
+                        ((Number) values[1]).intValue(),
+                        ((Number) values[2]).intValue(),
+                        ((Number) values[3]).longValue());
+            }
+
+            return builder.build();
+        }
+    }
+
+    //스냅샷을 DB 와 통계 큐브에 적재 (기동 시, DB 가 비어 있을 때만)
+    public boolean restoreSnapshot(SupportSnapshot snapshot) {
+        return restoreSnapshot(snapshot, () -> {});
+    }
+
+    //스냅샷을 DB 와 통계 큐브에 적재 (기동 시, DB 가 비어 있을 때만), DB 에 이미 데이터가 있으면 적재하지 않고 false
+    //금융기관, 지원금액 데이터를 한 트랜잭션으로 저장하고, 커밋된 뒤에 스냅샷에서 바로 만든 큐브로 교체 (cubeRestored 호출)
+    //저장이 실패하면 모두 취소되므로 (큐브는 그대로) 다음 기동 시 다시 적재
+    public boolean restoreSnapshot(SupportSnapshot snapshot, Runnable cubeRestored) {
+
+        synchronized (writeLock){
+            if(!bankCache.getBanks().isEmpty() || supportRepository.count() > 0){
+                return false;
+            }
+
+            SupportCube restoredCube;
+            try {
+                restoredCube = transactionTemplate == null
+                        ? saveSnapshot(snapshot)
+                        : transactionTemplate.execute(status -> saveSnapshot(snapshot));
+            } catch (RuntimeException | Error e) {
+                bankCache.invalidate();
+                throw e;
+            }
+
+            bankCache.publish();
+            supportCube.set(restoredCube);
+            cubeRestored.run();
+
+            return true;
+        }
+    }
+
+    //스냅샷의 금융기관, 지원금액 데이터를 업로드와 같은 단위로 배치 저장, 저장한 데이터의 큐브 반환 (DB 집계 없이)
+    private SupportCube saveSnapshot(SupportSnapshot snapshot) {
+
+        List<Bank> banks = new ArrayList<>(snapshot.getBankNames().size());
+        for(String bankName : snapshot.getBankNames()){
+            banks.add(bankCache.resolve(bankName));
+        }
+
+        SupportCube.Builder builder = new SupportCube.Builder();
+        List<Support> supports = new ArrayList<>(UPLOAD_CHUNK_SIZE);
+        Bank bank;
+        long amount;
+
+        for(int row = 0; row < snapshot.size(); row++){
+
+            bank = banks.get(snapshot.getBankIndex(row));
+            amount = snapshot.getAmount(row);
+
+            supports.add(new Support(bank, snapshot.getYear(row), snapshot.getMonth(row), amount));
+            builder.add(bank, snapshot.getYear(row), snapshot.getMonth(row), amount, 1, amount, amount);
+
+            if(supports.size() >= UPLOAD_CHUNK_SIZE){
+                supportRepository.saveAllInBatch(supports);
+                supports = new ArrayList<>(UPLOAD_CHUNK_SIZE);
+            }
+        }
+
+        if(!supports.isEmpty()){
+            supportRepository.saveAllInBatch(supports);
+        }
+
+        return builder.build();
     }
 
     //특정 기관의 지원금액 데이터 통계 조회 (연도별) - 금융기관명으로
-    public Map<String, BankSupports> findSupportStaticsByBank(String bankName){
-        List<Bank> banks = bankRepository.findByBankName(bankName);
+    public Map<Integer, BankSupports> findSupportStaticsByBank(String bankName){
+        return findSupportStaticsByBank(bankName, SupportFilter.ALL);
+    }
 
-        if(!banks.isEmpty()){
-            return findSupportStaticsByBank(banks.get(0));
+    //특정 기관의 지원금액 데이터 통계 조회 (연도별) - 금융기관명, 조회 조건 (연도 범위, 월)
+    public Map<Integer, BankSupports> findSupportStaticsByBank(String bankName, SupportFilter filter){
+        SupportCube cube = supportCube.get();
+        Bank bank = cube.getBank(bankName);
+
+        if(bank != null){
+            return toStaticsByYear(cube, bank, filter);
         }else{
             return new HashMap<>();
         }
     }
 
     //특정 기관의 지원금액 데이터 통계 조회 (연도별) - 금융기관 객체로
-    public Map<String, BankSupports> findSupportStaticsByBank(Bank bank){
+    public Map<Integer, BankSupports> findSupportStaticsByBank(Bank bank){
+        SupportCube cube = supportCube.get();
 
-        List<Support> supports = supportRepository.findByBank(bank);
+        if(bank.getId() != null && cube.getBank(bank.getId()) != null){
+            return toStaticsByYear(cube, cube.getBank(bank.getId()), SupportFilter.ALL);
+        }else{
+            return new HashMap<>();
+        }
+    }
+
+    //전체 지원금액 데이터 통계 조회 (연도별, 금융기관별)
+    //통계 큐브에서 조회하므로 DB 조회 없음
+    public Map<Integer, List<BankSupports>> findSupportStatics() {
+        return findSupportStatics(SupportFilter.ALL);
+    }
+
+    //지원금액 데이터 통계 조회 (연도별, 금융기관별) - 조회 조건 (연도 범위, 월, 금융기관)
+    //연도 오름차순 맵
+    public Map<Integer, List<BankSupports>> findSupportStatics(SupportFilter filter) {
+
+        Map<Integer, List<BankSupports>> statics = new TreeMap<>();
+        streamSupportStatics(filter, statics::put);
+
+        return statics;
+    }
 
-        Map<String, BankSupports> bankStatics = new HashMap<>();
+    //지원금액 데이터 통계 조회 (연도별, 금융기관별, 스트리밍)
+    //조건에 해당하는 연도, 금융기관 셀만 읽어서 집계하고, 연도 오름차순으로 한 연도씩 전달
+    //데이터가 없는 연도, 금융기관은 제외, 전달한 연도 수 반환
+    public int streamSupportStatics(SupportFilter filter, BiConsumer<Integer, List<BankSupports>> yearlyConsumer) {
 
+        SupportCube cube = supportCube.get();
+        List<BankSupports> yearlyStatics;
+        Bank bank;
         BankSupports bankSupports;
-        for(Support support : supports){
-            if(bankStatics.containsKey(support.getYear())){
-                bankSupports = bankStatics.get(support.getYear());
-            }else{
-                bankSupports = new BankSupports(bank);
-                bankStatics.put(support.getYear(), bankSupports);
+        int yearCount = 0;
+
+        for(Integer year : cube.getYears()){
+
+            if(!filter.includesYear(year)){
+                continue;
+            }
+
+            yearlyStatics = new ArrayList<>();
+
+            for(Map.Entry<Long, SupportCube.Cells> cells : cube.getCells(year).entrySet()){
+                bank = cube.getBank(cells.getKey());
+
+                if(!filter.includesBank(bank.getBankName())){
+                    continue;
+                }
+
+                bankSupports = toBankSupports(bank, cells.getValue(), filter);
+                if(bankSupports != null){
+                    yearlyStatics.add(bankSupports);
+                }
             }
 
-            bankSupports.addSupports(support);
+            if(!yearlyStatics.isEmpty()){
+                yearlyConsumer.accept(year, yearlyStatics);
+                yearCount++;
+            }
         }
 
-        return bankStatics;
+        return yearCount;
     }
 
-    //전체 지원금액 데이터 통계 조회 (연도별, 금융기관별)
-    public Map<String, List<BankSupports>> findSupportStatics() {
+    private Map<Integer, BankSupports> toStaticsByYear(SupportCube cube, Bank bank, SupportFilter filter){
 
-        List<Bank> banks = findAllBanks();
+        Map<Integer, BankSupports> bankStatics = new TreeMap<>();
+        SupportCube.Cells cells;
+        BankSupports bankSupports;
 
-        Map<String, List<BankSupports>> statics = new HashMap<>();
-        List<BankSupports> yearlyStatics;
-        Map<String, BankSupports> staticsByBank;
+        for(Integer year : cube.getYears()){
 
-        for(Bank bank : banks){
-            staticsByBank = findSupportStaticsByBank(bank);
+            if(!filter.includesYear(year)){
+                continue;
+            }
 
-            for(String year : staticsByBank.keySet()){
+            cells = cube.getCells(year, bank.getId());
 
-                if(!statics.containsKey(year)){
-                    yearlyStatics = new ArrayList<>();
-                    statics.put(year, yearlyStatics);
-                }else{
-                    yearlyStatics = statics.get(year);
+            if(cells != null){
+                bankSupports = toBankSupports(bank, cells, filter);
+
+                if(bankSupports != null){
+                    bankStatics.put(year, bankSupports);
                 }
+            }
+        }
+
+        return bankStatics;
+    }
+
+    //한 연도 셀의 통계, 월 조건이 있으면 해당 월만 합산 (해당 월 데이터가 없으면 null)
+    private BankSupports toBankSupports(Bank bank, SupportCube.Cells cells, SupportFilter filter){
+
+        if(!filter.hasMonths()){
+            return new BankSupports(bank, cells.getTotal(), cells.getCount(), cells.getMin(), cells.getMax());
+        }
 
-                yearlyStatics.add(staticsByBank.get(year));
+        long total = 0;
+        long count = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+
+        for(int month = 1; month <= SupportCube.MONTHS; month++){
+            if(filter.includesMonth(month) && cells.getCount(month) > 0){
+                total += cells.getTotal(month);
+                count += cells.getCount(month);
+                min = Math.min(min, cells.getMin(month));
+                max = Math.max(max, cells.getMax(month));
             }
         }
 
-        return statics;
+        return count == 0 ? null : new BankSupports(bank, total, count, min, max);
+    }
+
+    //집계 결과의 금융기관 정보로 금융기관 객체 복원 (같은 기관은 같은 객체 사용)
+    private Bank toBank(Map<Long, Bank> banks, SupportSummary summary){
+        return banks.computeIfAbsent(summary.getBankId(), id -> new Bank(id, summary.getBankName()));
+    }
+
+    //월 문자열을 숫자로, 1 ~ 12 가 아니면 0
+    private int parseMonth(String month){
+        try {
+            int monthNumber = Integer.parseInt(month.trim());
+            return monthNumber >= 1 && monthNumber <= SupportCube.MONTHS ? monthNumber : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 
     //특정 은행의 특정 달에 대해서 2018 년도 해당 달에 금융지원 금액을 예측
     public Map<String, Object> calcForcastMontlySupportForBank(String bankName, String month) {
+        return calcForcastMontlySupportForBank(bankName, month, ForecastModels.DEFAULT);
+    }
 
-        List<Bank> banks = bankRepository.findByBankName(bankName);
-        Bank bank;
+    //특정 은행의 특정 달에 대해서 2018 년도 해당 달에 금융지원 금액을 예측 (예측 모델 지정)
+    public Map<String, Object> calcForcastMontlySupportForBank(String bankName, String month, ForecastModel model) {
+
+        SupportCube cube = supportCube.get();
+        Bank bank = cube.getBank(bankName);
+        int monthIndex = parseMonth(month);
 
-        if(banks.isEmpty()) {
+        if(bank == null || monthIndex == 0) {
             throw new NotFoundException();
-        }else{
-            bank = banks.get(0);
         }
 
-        List<Support> supports = supportRepository.findByBankAndMonth(bank, month);
+        SupportForecast forecast = forecast(cube, bank, monthIndex, model);
 
-        if(supports.isEmpty()) {
+        if(forecast == null) {
             throw new NotFoundException();
         }
-        supports.sort(new SupportYearAcending());
 
-        // 다항식 추세선 활용
-        final WeightedObservedPoints obs = new WeightedObservedPoints();
+        Map<String, Object> returnObj = new HashMap<>();
+        returnObj.put("bankId", bank.getId());
+        returnObj.put("year", String.valueOf(forecast.getYear()));
+        returnObj.put("month", month);
+        returnObj.put("model", forecast.getModel());
+        returnObj.put("amount", forecast.getAmount());
+
+        return returnObj;
+    }
+
+    //특정 은행의 차년도 월별 금융지원 금액을 예측 (데이터가 있는 월만)
+    public List<SupportForecast> calcForecastYearlySupportForBank(String bankName) {
+        return calcForecastYearlySupportForBank(bankName, ForecastModels.DEFAULT);
+    }
+
+    //특정 은행의 차년도 월별 금융지원 금액을 예측 (예측 모델 지정)
+    public List<SupportForecast> calcForecastYearlySupportForBank(String bankName, ForecastModel model) {
+
+        SupportCube cube = supportCube.get();
+        Bank bank = cube.getBank(bankName);
 
-        Support support;
-        for(int index = 0; index < supports.size(); index++){
-            support = supports.get(index);
-            obs.add(
-                    (double) index + 1L,
-                    support.getAmount().doubleValue()
-            );
+        if(bank == null) {
+            throw new NotFoundException();
         }
 
-        // 3차 다항식 으로
-        final PolynomialCurveFitter fitter = PolynomialCurveFitter.create(3);
+        List<SupportForecast> forecasts = new ArrayList<>();
 
-        // 3차 다항식 계수 확보
-        final double[] coeff = fitter.fit(obs.toList());
+        SupportForecast forecast;
+        for(int month = 1; month <= SupportCube.MONTHS; month++){
+            forecast = forecast(cube, bank, month, model);
 
-        // 마지막 데이터의 차년도 예상금액을 계산
-        String year = String.valueOf(
-                Integer.valueOf(
-                        supports.get(supports.size()-1).getYear())+1
-        );
-
-        //3차 다항식 계수로 예상금액 계산
-        int number = supports.size() + 1;
-        double forecastAmount =
-                Math.pow(number, 0) * coeff[0] +
-                Math.pow(number, 1) * coeff[1] +
-                Math.pow(number, 2) * coeff[2] +
-                Math.pow(number, 3) * coeff[3];
+            if(forecast != null){
+                forecasts.add(forecast);
+            }
+        }
 
-        Map<String, Object> returnObj = new HashMap<>();
-        returnObj.put("bankId", bank.getId());
-        returnObj.put("year", year);
-        returnObj.put("month", month);
-        returnObj.put("amount", BigDecimal.valueOf((long)forecastAmount));
+        return forecasts;
+    }
 
-        return returnObj;
+    //전체 은행의 차년도 월별 금융지원 금액을 예측
+    public List<SupportForecast> calcForecastYearlySupportForAllBanks() {
+        return calcForecastYearlySupportForAllBanks(ForecastModels.DEFAULT);
+    }
+
+    //전체 은행의 차년도 월별 금융지원 금액을 예측 (예측 모델 지정)
+    public List<SupportForecast> calcForecastYearlySupportForAllBanks(ForecastModel model) {
+
+        List<SupportForecast> forecasts = new ArrayList<>();
+        streamForecastYearlySupportForAllBanks(model, forecasts::add);
+
+        return forecasts;
     }
 
-    private class SupportYearAcending implements Comparator<Support>{
+    //전체 은행의 차년도 월별 금융지원 금액을 예측 (스트리밍)
+    public int streamForecastYearlySupportForAllBanks(Consumer<SupportForecast> forecastConsumer) {
+        return streamForecastYearlySupportForAllBanks(ForecastModels.DEFAULT, forecastConsumer);
+    }
+
+    //전체 은행의 차년도 월별 금융지원 금액을 예측 (스트리밍, 예측 모델 지정)
+    //금융기관 x 월 시리즈를 예측 전용 ForkJoinPool 에서 병렬로 계산하고,
+    //금융기관, 월 순서대로 계산이 끝나는 대로 호출한 스레드에서 하나씩 전달
+    public int streamForecastYearlySupportForAllBanks(ForecastModel model, Consumer<SupportForecast> forecastConsumer) {
 
-        @Override
-        public int compare(Support o1, Support o2) {
-            return (o1.getYear()).compareTo(o2.getYear());
+        SupportCube cube = supportCube.get();
+        List<ForkJoinTask<SupportForecast>> tasks = new ArrayList<>(cube.getBanks().size() * SupportCube.MONTHS);
+
+        for(Bank bank : cube.getBanks()){
+            for(int month = 1; month <= SupportCube.MONTHS; month++){
+                final int forecastMonth = month;
+                tasks.add(forecastPool.submit(() -> forecast(cube, bank, forecastMonth, model)));
+            }
         }
+
+        int forecastCount = 0;
+        SupportForecast forecast;
+
+        try {
+            for(ForkJoinTask<SupportForecast> task : tasks){
+                forecast = task.join();
+
+                if(forecast != null){
+                    forecastConsumer.accept(forecast);
+                    forecastCount++;
+                }
+            }
+        } finally {
+            //전달 중 실패한 경우 (응답 연결 종료 등) 남은 계산은 취소
+            for(ForkJoinTask<SupportForecast> task : tasks){
+                task.cancel(false);
+            }
+        }
+
+        return forecastCount;
+    }
+
+    //예측 모델 백테스트 (rolling-origin)
+    //금융기관 x 월 시리즈마다 앞의 minTrainSize 년 이상을 학습해서 다음 연도를 예측하고, 실제 금액과의 오차를 집계
+    //시리즈별 평가는 예측 전용 ForkJoinPool 에서 병렬로 계산
+    public ForecastBacktest backtestForecastModel(ForecastModel model, int minTrainSize) {
+
+        if(minTrainSize < 1) {
+            throw new WrongParameterException();
+        }
+
+        long startMillis = System.currentTimeMillis();
+
+        SupportCube cube = supportCube.get();
+        List<ForkJoinTask<ForecastErrors>> tasks = new ArrayList<>(cube.getBanks().size() * SupportCube.MONTHS);
+
+        for(Bank bank : cube.getBanks()){
+            for(int month = 1; month <= SupportCube.MONTHS; month++){
+                final int backtestMonth = month;
+                tasks.add(forecastPool.submit(
+                        () -> backtest(model, cube.getSeries(bank.getId(), backtestMonth), minTrainSize)));
+            }
+        }
+
+        ForecastErrors errors = new ForecastErrors();
+        ForecastErrors seriesErrors;
+        int series = 0;
+
+        for(ForkJoinTask<ForecastErrors> task : tasks){
+            seriesErrors = task.join();
+
+            if(seriesErrors.getCount() > 0){
+                errors.merge(seriesErrors);
+                series++;
+            }
+        }
+
+        return new ForecastBacktest(model.getName(), series, errors, System.currentTimeMillis() - startMillis);
+    }
+
+    private ForecastErrors backtest(ForecastModel model, SupportCube.Series series, int minTrainSize) {
+
+        ForecastErrors errors = new ForecastErrors();
+        long[] amounts = series.getAmounts();
+
+        for(int trainSize = minTrainSize; trainSize < series.size(); trainSize++){
+            errors.add(amounts[trainSize], model.forecast(amounts, trainSize));
+        }
+
+        return errors;
+    }
+
+    //금융기관, 월의 예측 (데이터가 없으면 null)
+    //기본 모델의 예측만 큐브에 보관, 다른 모델은 매번 계산
+    private SupportForecast forecast(SupportCube cube, Bank bank, int month, ForecastModel model) {
+
+        if(model != ForecastModels.DEFAULT) {
+            return fitForecast(bank, month, cube.getSeries(bank.getId(), month), model);
+        }
+
+        return cube.computeForecastIfAbsent(
+                bank.getId(),
+                month,
+                () -> fitForecast(bank, month, cube.getSeries(bank.getId(), month), model));
+    }
+
+    private SupportForecast fitForecast(Bank bank, int month, SupportCube.Series series, ForecastModel model) {
+
+        if(series.size() == 0) {
+            return null;
+        }
+
+        // 마지막 데이터의 차년도 예상금액을 계산
+        int year = series.getYear(series.size()-1) + 1;
+
+        //예측 모델로 예상금액 계산 (부동소수 오차로 1 작게 잘리지 않도록 반올림)
+        double forecastAmount = model.forecast(series.getAmounts(), series.size());
+
+        return new SupportForecast(bank, year, month, model.getName(), Math.round(forecastAmount));
     }
 }
@@ -0,0 +1,168 @@
+package com.finance.service;
+
+import com.finance.ingest.SupportSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//금융기관, 지원금액 데이터 스냅샷 파일 (finance.snapshot.file)
+//업로드가 성공할 때마다 스냅샷 전용 스레드에서 파일을 새로 쓰고, 기동 시 DB 가 비어 있으면 같은 스레드에서 스냅샷을 적재
+//(메모리 DB 로 재기동해도 CSV 를 다시 올리지 않고, 통계 큐브는 DB 집계 없이 스냅샷에서 생성)
+@Service
+public class SupportSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(SupportSnapshotService.class);
+
+    private final FinanceService financeService;
+    private final DatasetVersion datasetVersion;
+
+    //스냅샷 파일, 없으면 스냅샷 사용 안함
+    private final Path snapshotFile;
+
+    private final ExecutorService snapshotExecutor;
+
+    //쓰기가 대기중이면 추가로 예약하지 않음 (연속된 업로드는 마지막 상태로 한번만 기록)
+    private final AtomicBoolean writePending = new AtomicBoolean();
+
+    //snapshotFile : 스냅샷 파일 경로 (빈 값이면 사용 안함)
+    public SupportSnapshotService(FinanceService financeService, DatasetVersion datasetVersion,
+                                  @Value("${finance.snapshot.file:}") String snapshotFile) {
+        this.financeService = financeService;
+        this.datasetVersion = datasetVersion;
+        this.snapshotFile = snapshotFile.isEmpty() ? null : Paths.get(snapshotFile).toAbsolutePath().normalize();
+        this.snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "support-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    //대기중인 스냅샷 쓰기는 마치고 종료
+    @PreDestroy
+    public void shutdownSnapshotExecutor() throws InterruptedException {
+        snapshotExecutor.shutdown();
+        snapshotExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    //기동 시 큐브 생성(FinanceService.refreshSupportCube) 다음에 적재, 적재가 큐브를 교체하므로 순서를 고정
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onApplicationReady() {
+        restoreSnapshot();
+    }
+
+    //스냅샷 적재를 스냅샷 전용 스레드에 등록, 적재했으면 true
+    //파일이 없거나, DB 에 이미 데이터가 있거나, 스냅샷을 읽을 수 없으면 (깨진 파일 등) 적재하지 않고 빈 상태로 기동
+    //저장이 끝날 때까지 쓰기 잠금, 커밋된 뒤에 큐브를 교체
+    //(그 사이에 성공한 업로드의 스냅샷 쓰기는 적재가 끝난 뒤에 실행됨)
+    public Future<Boolean> restoreSnapshot() {
+
+        if(snapshotFile == null){
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return snapshotExecutor.submit(this::restore);
+    }
+
+    private boolean restore() {
+
+        if(!Files.isRegularFile(snapshotFile)){
+            return false;
+        }
+
+        long startTime = System.currentTimeMillis();
+        SupportSnapshot snapshot;
+
+        try (InputStream in = Files.newInputStream(snapshotFile)) {
+            snapshot = SupportSnapshot.read(in);
+        } catch (IOException | RuntimeException e) {
+            log.warn("cannot read support snapshot {}", snapshotFile, e);
+            return false;
+        }
+
+        try {
+            //적재 전에 응답한 빈 데이터가 캐시되어 있지 않도록
+            boolean restored = financeService.restoreSnapshot(snapshot, datasetVersion::increment);
+
+            if(restored){
+                log.info("restored {} supports of {} banks from {} in {} ms",
+                        snapshot.size(), snapshot.getBankNames().size(), snapshotFile,
+                        System.currentTimeMillis() - startTime);
+            }
+            return restored;
+        } catch (RuntimeException e) {
+            //실패하기 전에 응답한 데이터 (교체된 큐브, 적재 중인 금융기관) 가 DB 기준 상태로 돌아갔으므로, 캐시된 응답을 쓰지 않도록
+            datasetVersion.increment();
+            log.warn("cannot restore support snapshot {}", snapshotFile, e);
+            return false;
+        }
+    }
+
+    //업로드가 성공한 뒤 호출, 스냅샷 전용 스레드에서 파일을 새로 씀
+    public void scheduleWrite() {
+
+        if(snapshotFile == null || !writePending.compareAndSet(false, true)){
+            return;
+        }
+
+        try {
+            snapshotExecutor.execute(() -> {
+                //쓰기를 시작한 뒤의 업로드는 다시 예약되도록 먼저 해제
+                writePending.set(false);
+                try {
+                    writeSnapshot();
+                } catch (Exception e) {
+                    log.warn("cannot write support snapshot {}", snapshotFile, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            writePending.set(false);
+        }
+    }
+
+    //스냅샷 파일을 새로 씀, 같은 폴더의 임시파일에 쓰고 교체하므로 쓰는 도중에 종료되어도 이전 스냅샷은 남음
+    public synchronized void writeSnapshot() throws IOException {
+
+        if(snapshotFile == null){
+            return;
+        }
+
+        SupportSnapshot snapshot = financeService.createSnapshot();
+
+        Path directory = snapshotFile.getParent();
+        Files.createDirectories(directory);
+
+        Path temp = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                snapshot.write(out);
+            }
+
+            try {
+                Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
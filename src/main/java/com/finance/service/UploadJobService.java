@@ -0,0 +1,184 @@
+package com.finance.service;
+
+import com.finance.exception.NotFoundException;
+import com.finance.exception.UploadJobRejectedException;
+import com.finance.exception.WrongFormFileException;
+import com.finance.exception.WrongParameterException;
+import com.finance.ingest.MappedFileInputStream;
+import com.finance.model.UploadJob;
+import com.finance.model.UploadStatics;
+import com.mixin.UploadMode;
+import com.mixin.UploadResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//비동기 업로드 작업
+//요청 스레드는 파일을 임시파일로 옮기고 작업 id 만 받아서 바로 응답, 읽기와 저장은 업로드 전용 스레드에서 수행
+//스레드 수와 대기열 크기가 정해져 있어서, 대기열이 가득 차면 받지 않음
+//대량 적재용으로 서버의 가져오기 폴더(finance.import.dir)에 있는 파일도 같은 방식으로 저장 (메모리 맵으로 읽음)
+@Service
+public class UploadJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadJobService.class);
+
+    //끝난 작업은 최근 것만 조회할 수 있도록 보관
+    private static final int MAX_FINISHED_JOBS = 100;
+
+    private final FinanceService financeService;
+    private final DatasetVersion datasetVersion;
+    private final SupportSnapshotService supportSnapshotService;
+
+    private final ThreadPoolExecutor uploadExecutor;
+
+    //가져오기 폴더, 없으면 가져오기 사용 안함
+    private final Path importDir;
+
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> finishedJobIds = new ConcurrentLinkedQueue<>();
+
+    //threads : 동시에 실행하는 업로드 수, queueCapacity : 실행 대기 업로드 수, importDir : 가져오기 폴더 (빈 값이면 사용 안함)
+    public UploadJobService(FinanceService financeService, DatasetVersion datasetVersion,
+                            SupportSnapshotService supportSnapshotService,
+                            @Value("${finance.upload.async.threads:1}") int threads,
+                            @Value("${finance.upload.async.queue-capacity:8}") int queueCapacity,
+                            @Value("${finance.import.dir:}") String importDir) {
+        this.financeService = financeService;
+        this.datasetVersion = datasetVersion;
+        this.supportSnapshotService = supportSnapshotService;
+        this.importDir = importDir.isEmpty() ? null : Paths.get(importDir).toAbsolutePath().normalize();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.uploadExecutor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "upload-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdownUploadExecutor() {
+        uploadExecutor.shutdownNow();
+    }
+
+    //임시파일의 업로드 작업을 등록, 작업이 끝나면 임시파일 삭제
+    public UploadJob submit(Path file, UploadMode mode) {
+        return submit(file, mode, true);
+    }
+
+    //가져오기 폴더에 있는 파일의 업로드 작업을 등록 (파일은 그대로 둠)
+    //가져오기를 사용하지 않거나 파일이 없으면 NotFoundException, 폴더 밖의 경로이면 WrongParameterException
+    public UploadJob submitImport(String fileName, UploadMode mode) {
+
+        if(importDir == null){
+            throw new NotFoundException();
+        }
+
+        Path file;
+        try {
+            file = importDir.resolve(fileName).normalize();
+        } catch (InvalidPathException e) {
+            throw new WrongParameterException();
+        }
+
+        if(!file.startsWith(importDir) || file.equals(importDir)){
+            throw new WrongParameterException();
+        }
+        if(!Files.isRegularFile(file)){
+            throw new NotFoundException();
+        }
+
+        return submit(file, mode, false);
+    }
+
+    private UploadJob submit(Path file, UploadMode mode, boolean temporary) {
+
+        UploadJob job = new UploadJob(UUID.randomUUID().toString(), mode);
+        jobs.put(job.getJobId(), job);
+
+        try {
+            uploadExecutor.execute(() -> run(job, file, temporary));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            if(temporary){
+                deleteFile(file);
+            }
+            throw new UploadJobRejectedException();
+        }
+
+        return job;
+    }
+
+    //작업 조회, 없거나 오래되어 지워진 작업이면 null
+    public UploadJob findJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    private void run(UploadJob job, Path file, boolean temporary) {
+
+        job.start();
+
+        //가져오기 파일은 내용을 힙에 올리지 않도록 메모리 맵으로 읽음
+        //임시파일은 작업이 끝나면 지워야 하므로 (맵이 해제되기 전에는 지울 수 없는 OS 가 있음) 스트림으로 읽음
+        try (InputStream fileStream = temporary ? Files.newInputStream(file) : new MappedFileInputStream(file)) {
+            UploadStatics uploadStatics = financeService.streamUploadSupportData(fileStream, job.getMode(), job::progress);
+            //완료 상태를 보고 바로 조회한 클라이언트가 이전 데이터로 304 를 받지 않도록, 완료 전에 데이터셋 버전 증가
+            datasetVersion.increment();
+            //성공한 업로드만 스냅샷 파일에 반영
+            supportSnapshotService.scheduleWrite();
+            job.complete(uploadStatics);
+        } catch (WrongFormFileException e) {
+            failed(job, UploadResult.WRONG_FORM);
+        } catch (Exception e) {
+            log.warn("upload job {} failed", job.getJobId(), e);
+            failed(job, e.getClass().getSimpleName() + (e.getMessage() == null ? "" : ": " + e.getMessage()));
+        } finally {
+            if(temporary){
+                deleteFile(file);
+            }
+            finished(job);
+        }
+    }
+
+    //실패한 업로드는 모두 취소되지만 통계 큐브, 금융기관 캐시를 DB 기준으로 다시 읽으므로, 실패로 표시하기 전에 데이터셋 버전 증가
+    private void failed(UploadJob job, String error) {
+        datasetVersion.increment();
+        job.fail(error);
+    }
+
+    private void finished(UploadJob job) {
+        finishedJobIds.add(job.getJobId());
+
+        while (finishedJobIds.size() > MAX_FINISHED_JOBS){
+            String jobId = finishedJobIds.poll();
+            if(jobId != null){
+                jobs.remove(jobId);
+            }
+        }
+    }
+
+    private void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (Exception e) {
+            log.warn("cannot delete upload file {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.mixin;
+
+public enum ForecastMethod {
+
+    //k차 다항식 추세선 (기본 3차)
+    POLYNOMIAL,
+
+    //1차 추세선
+    LINEAR,
+
+    //단순 지수평활
+    EXPONENTIAL_SMOOTHING,
+
+    //전년도 동월
+    SEASONAL_NAIVE
+}
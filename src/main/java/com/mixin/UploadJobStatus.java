@@ -0,0 +1,16 @@
+package com.mixin;
+
+public enum UploadJobStatus {
+
+    //실행 대기
+    QUEUED,
+
+    //파일을 읽으면서 저장 중
+    RUNNING,
+
+    //저장 완료
+    COMPLETED,
+
+    //오류로 중단 (업로드 전체가 취소되어 저장된 데이터 없음)
+    FAILED
+}
@@ -0,0 +1,10 @@
+package com.mixin;
+
+public enum UploadMode {
+
+    //업로드된 데이터를 모두 추가
+    APPEND,
+
+    //금융기관, 연도, 월이 같은 데이터는 금액이 바뀐 경우만 수정, 없으면 추가
+    UPSERT
+}
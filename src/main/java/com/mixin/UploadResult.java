@@ -5,4 +5,5 @@ public class UploadResult {
     public static String OK = "OK";
     public static String WRONG_FORM = "WRONG_FORM";
     public static String NO_FILE = "NO_FILE";
+    public static String BUSY = "BUSY";
 }
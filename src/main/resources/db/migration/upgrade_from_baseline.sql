@@ -0,0 +1,43 @@
+-- 최초 버전(Hibernate 가 만든 스키마)으로 만들어진 기존 H2 파일 DB 를 현재 스키마(db/schema.sql)로 변환
+-- 애플리케이션을 멈추고 DB 파일을 백업한 뒤 한번 실행 (README 참고)
+--   1. 연도, 월 : 문자열 -> 숫자 컬럼
+--   2. 금액 : DECIMAL -> BIGINT (억원 단위 정수)
+--   3. id : 공용 hibernate_sequence -> bank_seq, support_seq (pooled 할당, 기존 최대 id 다음부터)
+--   4. 조회용 인덱스
+
+-- 0. 변환할 수 없는 데이터가 있으면 (연도, 월이 숫자가 아니거나, 월이 1 ~ 12 가 아니거나, 금액에 소수가 있으면)
+--    아무것도 바꾸기 전에 여기서 실패, 아래 조회로 찾아서 정리한 뒤 다시 실행
+--    SELECT id, bank_id, year, month, amount FROM support
+--     WHERE NOT (TRIM(year) REGEXP '^[0-9]+$') OR NOT (TRIM(month) REGEXP '^([1-9]|1[0-2])$') OR amount <> FLOOR(amount);
+ALTER TABLE support ADD CONSTRAINT chk_upgrade_from_baseline
+    CHECK (TRIM(year) REGEXP '^[0-9]+$' AND TRIM(month) REGEXP '^([1-9]|1[0-2])$' AND amount = FLOOR(amount));
+ALTER TABLE support DROP CONSTRAINT chk_upgrade_from_baseline;
+
+-- 1. 연도, 월을 숫자 컬럼으로 복사 후 교체
+ALTER TABLE support ADD COLUMN year_number INT;
+ALTER TABLE support ADD COLUMN month_number INT;
+
+UPDATE support SET year_number = CAST(TRIM(year) AS INT), month_number = CAST(TRIM(month) AS INT);
+
+ALTER TABLE support DROP COLUMN year;
+ALTER TABLE support DROP COLUMN month;
+ALTER TABLE support ALTER COLUMN year_number RENAME TO year;
+ALTER TABLE support ALTER COLUMN month_number RENAME TO month;
+ALTER TABLE support ALTER COLUMN year SET NOT NULL;
+ALTER TABLE support ALTER COLUMN month SET NOT NULL;
+
+-- 2. 금액을 정수 컬럼으로
+ALTER TABLE support ALTER COLUMN amount BIGINT NOT NULL;
+
+-- 3. 엔티티별 시퀀스, 증가폭은 엔티티의 allocationSize 와 같아야 함
+--    pooled 할당은 시퀀스 값을 묶음의 마지막 id 로 쓰므로, 기존 최대 id + 증가폭에서 시작해야 기존 id 와 겹치지 않음
+CREATE SEQUENCE IF NOT EXISTS bank_seq START WITH 1 INCREMENT BY 10;
+CREATE SEQUENCE IF NOT EXISTS support_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE bank_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 10 FROM bank);
+ALTER SEQUENCE support_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM support);
+DROP SEQUENCE IF EXISTS hibernate_sequence;
+
+-- 4. 금융기관명, 금융기관 + 연도 + 월 (연도 범위 조회), 금융기관 + 월 (월별 시계열 조회)
+CREATE INDEX IF NOT EXISTS idx_bank_bank_name ON bank(bank_name);
+CREATE INDEX IF NOT EXISTS idx_support_bank_year_month ON support(bank_id, year, month);
+CREATE INDEX IF NOT EXISTS idx_support_bank_month ON support(bank_id, month);
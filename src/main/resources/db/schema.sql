@@ -0,0 +1,29 @@
+-- 금융기관, 지원금액 테이블 (prod 프로필, H2)
+-- 기동할 때마다 실행하므로 이미 있으면 건너뜀, 엔티티와 맞는지는 Hibernate 가 검사 (ddl-auto=validate)
+
+-- 시퀀스 증가폭은 엔티티의 allocationSize 와 같아야 함 (pooled 할당)
+CREATE SEQUENCE IF NOT EXISTS bank_seq START WITH 1 INCREMENT BY 10;
+CREATE SEQUENCE IF NOT EXISTS support_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS bank (
+    id BIGINT NOT NULL,
+    bank_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS support (
+    id BIGINT NOT NULL,
+    bank_id BIGINT NOT NULL,
+    year INT NOT NULL,
+    month INT NOT NULL,
+    amount BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_support_bank FOREIGN KEY (bank_id) REFERENCES bank(id)
+);
+
+-- 금융기관명으로 찾기 (업로드 시 금융기관 캐시 로딩 외에 findByBankName)
+CREATE INDEX IF NOT EXISTS idx_bank_bank_name ON bank(bank_name);
+
+-- 금융기관 + 연도 + 월 (연도 범위 조회, UPSERT 저장 데이터 찾기), 금융기관 + 월 (월별 시계열 조회)
+CREATE INDEX IF NOT EXISTS idx_support_bank_year_month ON support(bank_id, year, month);
+CREATE INDEX IF NOT EXISTS idx_support_bank_month ON support(bank_id, month);
@@ -0,0 +1,83 @@
+package com.finance.benchmark;
+
+import com.finance.data.Bank;
+import com.finance.data.Support;
+import com.finance.model.BankSupports;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//지원금액 합계, 평균 계산 벤치마크 : BigDecimal (기존) vs long vs long 배열
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AmountAggregationBenchmark {
+
+    //12건 : 한 기관의 한 해, 1200건 : 여러 해
+    @Param({"12", "1200"})
+    private int supportCount;
+
+    private List<BigDecimal> decimalAmounts;
+    private BankSupports bankSupports;
+    private long[] amounts;
+
+    @Setup
+    public void createAmounts() {
+        Random random = new Random(0);
+        Bank bank = new Bank(1L, "BENCHMARK");
+
+        decimalAmounts = new ArrayList<>(supportCount);
+        bankSupports = new BankSupports(bank);
+        amounts = new long[supportCount];
+
+        long amount;
+        for (int index = 0; index < supportCount; index++) {
+            amount = random.nextInt(10000);
+
+            decimalAmounts.add(BigDecimal.valueOf(amount));
+            bankSupports.addSupports(new Support(bank, 2000, index % 12 + 1, amount));
+            amounts[index] = amount;
+        }
+    }
+
+    //기존 방식 : BigDecimal 로 합산 후 doubleValue 로 평균
+    @Benchmark
+    public BigDecimal bigDecimalAverage() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : decimalAmounts) {
+            total = total.add(amount);
+        }
+        return BigDecimal.valueOf(total.doubleValue() / decimalAmounts.size());
+    }
+
+    @Benchmark
+    public double bankSupportsAverage() {
+        return bankSupports.getSupportsAverage();
+    }
+
+    //BankSupports 에 누적하면서 통계 계산 (지원금액 데이터는 보관하지 않음)
+    @Benchmark
+    public double bankSupportsAccumulate() {
+        BankSupports accumulator = new BankSupports(bankSupports.getBank(), false);
+        for (Support support : bankSupports.getSupports()) {
+            accumulator.addSupports(support);
+        }
+        return accumulator.getSupportsAverage();
+    }
+
+    @Benchmark
+    public double longArrayAverage() {
+        long total = 0;
+        for (long amount : amounts) {
+            total += amount;
+        }
+        return (double) total / amounts.length;
+    }
+}
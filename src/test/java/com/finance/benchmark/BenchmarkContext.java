@@ -0,0 +1,34 @@
+package com.finance.benchmark;
+
+import com.Application;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+//벤치마크용 애플리케이션 컨텍스트 (웹서버 없이, 로그 최소화, 스냅샷 파일 사용 안함)
+//설정은 가장 앞의 property source 로 넣어서 application.properties, 프로필 설정보다 우선 (예: spring.profiles.active=prod)
+public class BenchmarkContext {
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        Map<String, Object> benchmarkProperties = new HashMap<>();
+        benchmarkProperties.put("finance.snapshot.file", "");
+        for (String property : properties) {
+            int separator = property.indexOf('=');
+            benchmarkProperties.put(property.substring(0, separator), property.substring(separator + 1));
+        }
+
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", benchmarkProperties));
+
+        return new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .environment(environment)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+    }
+}
@@ -0,0 +1,65 @@
+package com.finance.benchmark;
+
+import com.finance.forecast.ForecastModels;
+import com.finance.model.ForecastBacktest;
+import com.finance.model.SupportForecast;
+import com.finance.service.FinanceService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//전체 금융기관 x 월 예측, 백테스트 벤치마크 (병렬도별)
+//매 호출 전에 큐브를 다시 만들어서, 보관된 예측 없이 전체 시리즈를 새로 계산
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ForecastBenchmark {
+
+    @Param({"13"})
+    private int years;
+
+    @Param({"12"})
+    private int months;
+
+    @Param({"50"})
+    private int banks;
+
+    @Param({"1", "2", "4"})
+    private int parallelism;
+
+    private ConfigurableApplicationContext context;
+    private FinanceService financeService;
+
+    @Setup(Level.Trial)
+    public void startContext() throws Exception {
+        context = BenchmarkContext.start("finance.forecast.parallelism=" + parallelism);
+        financeService = context.getBean(FinanceService.class);
+
+        financeService.saveUploadSupportData(new SupportDataGenerator(years, months, banks).generate());
+    }
+
+    @Setup(Level.Invocation)
+    public void clearForecasts() {
+        financeService.refreshSupportCube();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SupportForecast> calcForecastYearlySupportForAllBanks() {
+        return financeService.calcForecastYearlySupportForAllBanks();
+    }
+
+    @Benchmark
+    public ForecastBacktest backtestForecastModel() {
+        return financeService.backtestForecastModel(ForecastModels.DEFAULT, 3);
+    }
+}
@@ -0,0 +1,118 @@
+package com.finance.benchmark;
+
+import com.finance.data.Bank;
+import com.finance.data.Support;
+import com.finance.data.SupportRepository;
+import com.finance.model.SupportSummary;
+import com.finance.service.FinanceService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+//DB 설정별 적재, 조회 벤치마크
+//default : 메모리 H2 + Hibernate 가 테이블 생성, prod : 파일 H2 + db/schema.sql + 커넥션 풀, 배치 설정 (임시 폴더에 DB 파일)
+//조회는 한번 업로드한 데이터로, 적재는 같은 파일을 더 올리고 올린 데이터만 지움
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PersistenceProfileBenchmark {
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    @Param({"13"})
+    private int years;
+
+    @Param({"12"})
+    private int months;
+
+    @Param({"50"})
+    private int banks;
+
+    private Path databaseDir;
+    private ConfigurableApplicationContext context;
+    private FinanceService financeService;
+    private SupportRepository supportRepository;
+    private JdbcTemplate jdbcTemplate;
+
+    private byte[] fileBytes;
+    private long uploadedMaxId;
+    private Bank bank;
+
+    @Setup(Level.Trial)
+    public void startContext() throws Exception {
+        if ("prod".equals(profile)) {
+            databaseDir = Files.createTempDirectory("finance-benchmark-");
+            context = BenchmarkContext.start(
+                    "spring.profiles.active=prod",
+                    "spring.datasource.url=jdbc:h2:file:" + databaseDir.resolve("finance") + ";DB_CLOSE_ON_EXIT=FALSE;CACHE_SIZE=65536");
+        } else {
+            context = BenchmarkContext.start();
+        }
+
+        financeService = context.getBean(FinanceService.class);
+        supportRepository = context.getBean(SupportRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        fileBytes = new SupportDataGenerator(years, months, banks).generate();
+        financeService.saveUploadSupportData(fileBytes);
+
+        uploadedMaxId = jdbcTemplate.queryForObject("select max(id) from support", Long.class);
+        bank = financeService.findAllBanks().get(banks - 1);
+    }
+
+    //처음 업로드한 데이터만 남김
+    @TearDown(Level.Invocation)
+    public void deleteAppendedSupports() {
+        if (jdbcTemplate.update("delete from support where id > ?", uploadedMaxId) > 0) {
+            financeService.refreshSupportCube();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() throws IOException {
+        context.close();
+
+        if (databaseDir != null) {
+            try (Stream<Path> files = Files.walk(databaseDir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    //적재 : 파일 업로드 (파싱 + 배치 INSERT + 통계 큐브 반영)
+    @Benchmark
+    public String uploadSupportData() throws Exception {
+        return financeService.saveUploadSupportData(fileBytes);
+    }
+
+    //조회 : 기동 시 통계 큐브 생성용 GROUP BY 집계
+    @Benchmark
+    public List<SupportSummary> summarizeByBankAndYearAndMonth() {
+        return supportRepository.summarizeByBankAndYearAndMonth();
+    }
+
+    //조회 : 금융기관의 연도 범위 (금융기관 + 연도 + 월 인덱스)
+    @Benchmark
+    public List<Support> findByBankAndYearBetween() {
+        return supportRepository.findByBankAndYearBetweenOrderByYearAscMonthAsc(
+                bank, SupportDataGenerator.FIRST_YEAR + 3, SupportDataGenerator.FIRST_YEAR + 8);
+    }
+
+    //조회 : 스냅샷 생성용 전체 데이터
+    @Benchmark
+    public List<Object[]> findAllSupportValues() {
+        return supportRepository.findAllSupportValues();
+    }
+}
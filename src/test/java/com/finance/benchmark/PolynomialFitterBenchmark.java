@@ -0,0 +1,60 @@
+package com.finance.benchmark;
+
+import com.finance.forecast.PolynomialFitter;
+import org.apache.commons.math3.fitting.PolynomialCurveFitter;
+import org.apache.commons.math3.fitting.WeightedObservedPoints;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//3차 다항식 추세선 계산 벤치마크 (commons-math 최적화 vs 정규방정식)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PolynomialFitterBenchmark {
+
+    @Param({"13"})
+    private int size;
+
+    private long[] values;
+    private double[] coefficients;
+    private PolynomialFitter fitter;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(83L);
+
+        values = new long[size];
+        for(int index = 0; index < size; index++){
+            values[index] = 1000 + random.nextInt(5000);
+        }
+
+        coefficients = new double[4];
+        fitter = new PolynomialFitter(3);
+    }
+
+    @Benchmark
+    public double commonsMath() {
+        WeightedObservedPoints obs = new WeightedObservedPoints();
+        for(int index = 0; index < size; index++){
+            obs.add((double) index + 1L, values[index]);
+        }
+
+        double[] coeff = PolynomialCurveFitter.create(3).fit(obs.toList());
+
+        int number = size + 1;
+        return Math.pow(number, 0) * coeff[0] +
+                Math.pow(number, 1) * coeff[1] +
+                Math.pow(number, 2) * coeff[2] +
+                Math.pow(number, 3) * coeff[3];
+    }
+
+    @Benchmark
+    public double normalEquation() {
+        return PolynomialFitter.evaluate(fitter.fit(values, size, coefficients), size + 1);
+    }
+}
@@ -0,0 +1,97 @@
+package com.finance.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.finance.control.response.BanksResponse;
+import com.finance.control.response.ForecastsResponse;
+import com.finance.data.Bank;
+import com.finance.model.SupportForecast;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//응답전문 직렬화 벤치마크 (HashMap 으로 만든 응답 vs 직접 출력하는 응답 객체)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"50"})
+    private int banks;
+
+    private ObjectWriter objectWriter;
+    private List<Bank> bankList;
+    private List<SupportForecast> forecasts;
+    private BanksResponse banksResponse;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        objectWriter = new ObjectMapper().writer();
+
+        bankList = new ArrayList<>();
+        forecasts = new ArrayList<>();
+
+        for(int index = 0; index < banks; index++){
+            Bank bank = new Bank((long) index + 1, String.format("금융기관%d", index + 1));
+            bankList.add(bank);
+
+            for(int month = 1; month <= 12; month++){
+                forecasts.add(new SupportForecast(bank, 2018, month, "POLYNOMIAL(3)", 1000L * month + index));
+            }
+        }
+
+        banksResponse = BanksResponse.of(bankList);
+    }
+
+    @Benchmark
+    public byte[] banksAsMap() throws Exception {
+        List<Map<String, String>> responseBanks = new ArrayList<>();
+        for(Bank bank : bankList){
+            Map<String, String> responseBank = new HashMap<>();
+            responseBank.put("bankName", bank.getBankName());
+            responseBanks.add(responseBank);
+        }
+
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("banks", responseBanks);
+
+        return objectWriter.writeValueAsBytes(responseBody);
+    }
+
+    @Benchmark
+    public byte[] banksAsResponse() throws Exception {
+        return objectWriter.writeValueAsBytes(banksResponse);
+    }
+
+    @Benchmark
+    public byte[] forecastsAsMap() throws Exception {
+        List<Map<String, Object>> responseForecasts = new ArrayList<>();
+        for(SupportForecast forecast : forecasts){
+            Map<String, Object> responseForecast = new HashMap<>();
+            responseForecast.put("bankId", forecast.getBank().getId());
+            responseForecast.put("bank", forecast.getBank().getBankName());
+            responseForecast.put("year", String.valueOf(forecast.getYear()));
+            responseForecast.put("month", String.valueOf(forecast.getMonth()));
+            responseForecast.put("model", forecast.getModel());
+            responseForecast.put("amount", forecast.getAmount());
+            responseForecasts.add(responseForecast);
+        }
+
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("forecasts", responseForecasts);
+
+        return objectWriter.writeValueAsBytes(responseBody);
+    }
+
+    @Benchmark
+    public byte[] forecastsAsResponse() throws Exception {
+        return objectWriter.writeValueAsBytes(new ForecastsResponse(null, forecasts));
+    }
+}
@@ -0,0 +1,63 @@
+package com.finance.benchmark;
+
+import com.finance.model.BankSupports;
+import com.finance.service.FinanceService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//통계 조회, 예측 벤치마크 (데이터는 한번만 업로드)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StaticsBenchmark {
+
+    @Param({"13"})
+    private int years;
+
+    @Param({"12"})
+    private int months;
+
+    @Param({"9", "50"})
+    private int banks;
+
+    private ConfigurableApplicationContext context;
+    private FinanceService financeService;
+
+    private String bankName;
+
+    @Setup(Level.Trial)
+    public void startContext() throws Exception {
+        context = BenchmarkContext.start();
+        financeService = context.getBean(FinanceService.class);
+
+        financeService.saveUploadSupportData(new SupportDataGenerator(years, months, banks).generate());
+        bankName = SupportDataGenerator.bankName(banks - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<Integer, List<BankSupports>> findSupportStatics() {
+        return financeService.findSupportStatics();
+    }
+
+    @Benchmark
+    public Map<Integer, BankSupports> findSupportStaticsByBank() {
+        return financeService.findSupportStaticsByBank(bankName);
+    }
+
+    @Benchmark
+    public Map<String, Object> calcForcastMontlySupportForBank() {
+        return financeService.calcForcastMontlySupportForBank(bankName, "1");
+    }
+}
@@ -0,0 +1,104 @@
+package com.finance.benchmark;
+
+import com.finance.ingest.SupportCsvReader;
+import com.finance.ingest.SupportRows;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+//업로드 파일 파싱 벤치마크 (저장 제외)
+//commons-csv + replaceAll + Long.parseLong vs 줄 단위 청크 병렬 파싱 (병렬도별)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SupportCsvParseBenchmark {
+
+    private static final Charset EUC_KR = Charset.forName("EUC-KR");
+
+    @Param({"100"})
+    private int years;
+
+    @Param({"12"})
+    private int months;
+
+    @Param({"50"})
+    private int banks;
+
+    @Param({"1", "2", "4"})
+    private int parallelism;
+
+    private byte[] fileBytes;
+    private ForkJoinPool parsePool;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        fileBytes = new SupportDataGenerator(years, months, banks).generate();
+        parsePool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        parsePool.shutdown();
+    }
+
+    @Benchmark
+    public long commonsCsv() throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(fileBytes), EUC_KR));
+        long total = 0;
+
+        boolean header = true;
+        for(CSVRecord record : CSVFormat.DEFAULT.parse(reader)){
+            if(header){
+                for(int index = 2; index < record.size(); index++){
+                    total += record.get(index).replaceAll("[(억원)]", "").length();
+                }
+                header = false;
+                continue;
+            }
+
+            total += Integer.parseInt(record.get(0).trim()) + Integer.parseInt(record.get(1).trim());
+            for(int index = 2; index < record.size(); index++){
+                total += Long.parseLong(record.get(index).replaceAll(",", ""));
+            }
+        }
+
+        return total;
+    }
+
+    @Benchmark
+    public long chunkedReader() throws IOException {
+        long total = 0;
+
+        try (SupportCsvReader reader = new SupportCsvReader(
+                new ByteArrayInputStream(fileBytes), EUC_KR, parallelism > 1 ? parsePool : null,
+                SupportCsvReader.DEFAULT_CHUNK_SIZE, parallelism * 2)) {
+
+            List<String> header = reader.readHeader();
+            for(int index = 2; index < header.size(); index++){
+                total += SupportCsvReader.toBankName(header.get(index)).length();
+            }
+
+            int columns = header.size() - 2;
+            SupportRows rows;
+            while ((rows = reader.next(columns)) != null){
+                for(int row = 0; row < rows.size(); row++){
+                    total += rows.getYear(row) + rows.getMonth(row);
+                    for(int column = 0; column < columns; column++){
+                        total += rows.getAmount(row, column);
+                    }
+                }
+            }
+        }
+
+        return total;
+    }
+}
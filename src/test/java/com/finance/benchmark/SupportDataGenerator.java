@@ -0,0 +1,88 @@
+package com.finance.benchmark;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.Random;
+
+//벤치마크용 지원금액 CSV 데이터 생성 (연도 x 월 x 금융기관)
+//업로드 파일과 같은 형식 : EUC-KR, 헤더 '연도,월,기관명(억원),...', 천단위 쉼표가 있는 금액은 따옴표로 감쌈
+public class SupportDataGenerator {
+
+    private static final Charset EUC_KR = Charset.forName("EUC-KR");
+
+    public static final int FIRST_YEAR = 2005;
+
+    private final int years;
+    private final int months;
+    private final int banks;
+    private final long seed;
+
+    public SupportDataGenerator(int years, int months, int banks) {
+        this(years, months, banks, 0L);
+    }
+
+    public SupportDataGenerator(int years, int months, int banks, long seed) {
+        this.years = years;
+        this.months = months;
+        this.banks = banks;
+        this.seed = seed;
+    }
+
+    public static String bankName(int bank) {
+        return String.format("금융기관%d", bank + 1);
+    }
+
+    public byte[] generate() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public void write(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, EUC_KR));
+        Random random = new Random(seed);
+
+        writer.write("연도,월");
+        for (int bank = 0; bank < banks; bank++) {
+            writer.write(",");
+            writer.write(bankName(bank));
+            writer.write("(억원)");
+        }
+        writer.write("\n");
+
+        int amount;
+        for (int year = 0; year < years; year++) {
+            for (int month = 1; month <= months; month++) {
+                writer.write(String.valueOf(FIRST_YEAR + year));
+                writer.write(",");
+                writer.write(String.valueOf(month));
+
+                for (int bank = 0; bank < banks; bank++) {
+                    //추세가 있는 금액, 1,000 이상은 쉼표 포함
+                    amount = (bank + 1) * 100 + year * 50 + random.nextInt(1000);
+                    writer.write(",");
+                    writer.write(amount >= 1000
+                            ? String.format("\"%,d\"", amount)
+                            : String.valueOf(amount));
+                }
+                writer.write("\n");
+            }
+        }
+
+        writer.flush();
+    }
+
+    //파일로 생성 : SupportDataGenerator 연도수 월수 기관수 파일경로
+    public static void main(String[] args) throws IOException {
+        SupportDataGenerator generator = new SupportDataGenerator(
+                Integer.parseInt(args[0]), Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(args[3]))) {
+            generator.write(out);
+        }
+    }
+}
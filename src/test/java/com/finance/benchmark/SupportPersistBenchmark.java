@@ -0,0 +1,78 @@
+package com.finance.benchmark;
+
+import com.finance.data.Bank;
+import com.finance.data.BankRepository;
+import com.finance.data.Support;
+import com.finance.data.SupportRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//지원금액 데이터 저장 벤치마크 : 건별 save vs 배치 saveAllInBatch
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SupportPersistBenchmark {
+
+    @Param({"1200", "12000"})
+    private int supportCount;
+
+    private ConfigurableApplicationContext context;
+    private SupportRepository supportRepository;
+    private JdbcTemplate jdbcTemplate;
+
+    private Bank bank;
+    private List<Support> supports;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContext.start();
+
+        supportRepository = context.getBean(SupportRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        bank = context.getBean(BankRepository.class).save(new Bank("BENCHMARK"));
+    }
+
+    //저장된 엔티티는 재사용할 수 없으므로 매 호출마다 새로 생성
+    @Setup(Level.Invocation)
+    public void createSupports() {
+        supports = new ArrayList<>(supportCount);
+        for (int index = 0; index < supportCount; index++) {
+            supports.add(
+                    new Support(
+                            bank,
+                            2000 + index / 12,
+                            index % 12 + 1,
+                            index));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteSupports() {
+        jdbcTemplate.update("delete from support");
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public void saveEachSupport() {
+        for (Support support : supports) {
+            supportRepository.save(support);
+        }
+    }
+
+    @Benchmark
+    public void saveAllInBatch() {
+        supportRepository.saveAllInBatch(supports);
+    }
+}
@@ -0,0 +1,81 @@
+package com.finance.benchmark;
+
+import com.finance.ingest.SupportSnapshot;
+import com.finance.service.FinanceService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+//재기동 후 데이터 적재 벤치마크 (빈 메모리 DB 에 적재 + 통계 큐브 생성)
+//CSV 다시 업로드 vs 바이너리 스냅샷 적재 (DB 저장과 큐브 교체까지), 반복마다 새 컨텍스트(새 DB)에서 한번씩
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SupportSnapshotBenchmark {
+
+    @Param({"13"})
+    private int years;
+
+    @Param({"12"})
+    private int months;
+
+    @Param({"9", "50"})
+    private int banks;
+
+    private byte[] fileBytes;
+    private byte[] snapshotBytes;
+
+    private ConfigurableApplicationContext context;
+    private FinanceService financeService;
+
+    //같은 데이터의 CSV 와 스냅샷 (스냅샷은 업로드한 DB 에서 생성)
+    @Setup(Level.Trial)
+    public void generate() throws Exception {
+        fileBytes = new SupportDataGenerator(years, months, banks).generate();
+
+        ConfigurableApplicationContext uploadContext = startContext();
+        try {
+            FinanceService uploadService = uploadContext.getBean(FinanceService.class);
+            uploadService.saveUploadSupportData(fileBytes);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            uploadService.createSnapshot().write(bytes);
+            snapshotBytes = bytes.toByteArray();
+        } finally {
+            uploadContext.close();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void startIterationContext() {
+        context = startContext();
+        financeService = context.getBean(FinanceService.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public String uploadCsv() throws Exception {
+        return financeService.saveUploadSupportData(fileBytes);
+    }
+
+    @Benchmark
+    public boolean restoreSnapshot() throws IOException {
+        return financeService.restoreSnapshot(SupportSnapshot.read(new ByteArrayInputStream(snapshotBytes)));
+    }
+
+    //반복마다 새 메모리 DB
+    private static ConfigurableApplicationContext startContext() {
+        return BenchmarkContext.start("spring.datasource.generate-unique-name=true");
+    }
+}
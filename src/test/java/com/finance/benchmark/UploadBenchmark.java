@@ -0,0 +1,59 @@
+package com.finance.benchmark;
+
+import com.finance.service.FinanceService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+//지원금액 파일 업로드 벤치마크 (파싱 + 저장 + 통계 큐브 반영)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UploadBenchmark {
+
+    @Param({"13"})
+    private int years;
+
+    @Param({"12"})
+    private int months;
+
+    @Param({"9", "50"})
+    private int banks;
+
+    private ConfigurableApplicationContext context;
+    private FinanceService financeService;
+    private JdbcTemplate jdbcTemplate;
+
+    private byte[] fileBytes;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContext.start();
+        financeService = context.getBean(FinanceService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        fileBytes = new SupportDataGenerator(years, months, banks).generate();
+    }
+
+    //금융기관은 남겨두고 지원금액 데이터만 지움
+    @TearDown(Level.Invocation)
+    public void deleteSupports() {
+        jdbcTemplate.update("delete from support");
+        financeService.refreshSupportCube();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public String saveUploadSupportData() throws Exception {
+        return financeService.saveUploadSupportData(fileBytes);
+    }
+}
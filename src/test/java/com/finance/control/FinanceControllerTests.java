@@ -2,36 +2,72 @@ package com.finance.control;
 
 import com.finance.data.Bank;
 import com.finance.data.Support;
+import com.finance.forecast.ForecastErrors;
+import com.finance.forecast.ForecastModel;
+import com.finance.forecast.ForecastModels;
 import com.finance.model.BankSupports;
+import com.finance.model.ForecastBacktest;
+import com.finance.model.SupportFilter;
+import com.finance.model.SupportForecast;
+import com.finance.model.UploadJob;
+import com.finance.model.UploadStatics;
+import com.finance.exception.UploadJobRejectedException;
 import com.finance.exception.WrongFormFileException;
+import com.finance.exception.WrongParameterException;
+import com.mixin.ForecastMethod;
+import com.mixin.UploadMode;
 import com.mixin.UploadResult;
+import com.finance.service.DatasetVersion;
 import com.finance.service.FinanceService;
+import com.finance.service.SupportSnapshotService;
+import com.finance.service.UploadJobService;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.stubbing.Answer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.closeTo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
 @WebMvcTest(FinanceController.class)
+@Import(DatasetVersion.class)
 public class FinanceControllerTests {
 
     private static final Logger log = LoggerFactory.getLogger(FinanceControllerTests.class);
@@ -42,19 +78,50 @@ public class FinanceControllerTests {
     @MockBean
     private FinanceService financeService;
 
+    @MockBean
+    private UploadJobService uploadJobService;
+
+    @MockBean
+    private SupportSnapshotService supportSnapshotService;
+
     //1.데이터 파일에서 각 레코드를 데이터베이스에 저장하는 API
     //1.1 정상적인 데이터 파일을 전송, 성공
     @Test
     public void postUploadSupportData_shouldSuccessUpload() throws Exception{
 
         //데이터 파일 저장 API가 정상적으로 수행됨
-        given(financeService.saveUploadSupportData(any(byte[].class))).willReturn(UploadResult.OK);
+        given(financeService.streamUploadSupportData(any(InputStream.class), eq(UploadMode.APPEND)))
+                .willReturn(new UploadStatics(UploadResult.OK, 12, 9, 108, 0, 0, 1));
 
         mockMvc.perform(MockMvcRequestBuilders
                             .multipart("/finance/uploadSupportData")
                 .file("file", "TEST".getBytes()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("result").value(UploadResult.OK));
+                .andExpect(jsonPath("result").value(UploadResult.OK))
+                .andExpect(jsonPath("rows").value(12))
+                .andExpect(jsonPath("banks").value(9))
+                .andExpect(jsonPath("inserted").value(108))
+                .andExpect(jsonPath("elapsedMillis").value(1));
+
+        //성공한 업로드는 스냅샷 쓰기 예약
+        verify(supportSnapshotService).scheduleWrite();
+    }
+
+    //1.1.1 UPSERT 모드로 전송, 성공
+    @Test
+    public void postUploadSupportData_upsertMode() throws Exception{
+
+        given(financeService.streamUploadSupportData(any(InputStream.class), eq(UploadMode.UPSERT)))
+                .willReturn(new UploadStatics(UploadResult.OK, 12, 9, 0, 3, 105, 1));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                            .multipart("/finance/uploadSupportData")
+                .file("file", "TEST".getBytes())
+                .param("mode", "UPSERT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("result").value(UploadResult.OK))
+                .andExpect(jsonPath("updated").value(3))
+                .andExpect(jsonPath("unchanged").value(105));
     }
 
     //1.2 파일을 전송하지 않는 경우, 실패
@@ -72,13 +139,117 @@ public class FinanceControllerTests {
     @Test
     public void postUploadSupportData_wrongFileUpload() throws Exception{
         //파일 포맷이 맞지않는 오류가 발생함
-        given(financeService.saveUploadSupportData(any(byte[].class))).willThrow(new WrongFormFileException());
+        given(financeService.streamUploadSupportData(any(InputStream.class), any(UploadMode.class))).willThrow(new WrongFormFileException());
 
         mockMvc.perform(MockMvcRequestBuilders
                             .multipart("/finance/uploadSupportData")
                             .file("file", "TEST".getBytes()))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("result").value(UploadResult.WRONG_FORM));
+
+        verify(supportSnapshotService, never()).scheduleWrite();
+    }
+
+    //1.4 비동기 업로드, 작업 id 를 바로 응답
+    @Test
+    public void postUploadSupportData_async() throws Exception{
+
+        given(uploadJobService.submit(any(Path.class), eq(UploadMode.UPSERT))).willAnswer(invocation -> {
+            //요청이 끝나도 작업이 읽을 수 있도록 임시파일로 옮겨져 있음
+            Path file = invocation.getArgument(0);
+            assertThat(Files.readAllBytes(file)).isEqualTo("TEST".getBytes());
+            Files.delete(file);
+
+            return new UploadJob("job-1", UploadMode.UPSERT);
+        });
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .multipart("/finance/uploadSupportData")
+                .file("file", "TEST".getBytes())
+                .param("mode", "UPSERT")
+                .param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("jobId").value("job-1"))
+                .andExpect(jsonPath("status").value("QUEUED"))
+                .andExpect(jsonPath("mode").value("UPSERT"))
+                .andExpect(jsonPath("rows").value(0));
+
+        verify(financeService, never()).streamUploadSupportData(any(InputStream.class), any(UploadMode.class));
+    }
+
+    //1.5 비동기 업로드 작업 조회 (완료, 실패, 없는 작업)
+    @Test
+    public void getUploadJob_status() throws Exception{
+
+        UploadJob completed = new UploadJob("job-1", UploadMode.APPEND);
+        completed.start();
+        completed.complete(new UploadStatics(UploadResult.OK, 12, 9, 108, 0, 0, 1));
+
+        UploadJob failed = new UploadJob("job-2", UploadMode.APPEND);
+        failed.start();
+        failed.progress(5);
+        failed.fail(UploadResult.WRONG_FORM);
+
+        given(uploadJobService.findJob("job-1")).willReturn(completed);
+        given(uploadJobService.findJob("job-2")).willReturn(failed);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/uploadJobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("status").value("COMPLETED"))
+                .andExpect(jsonPath("rows").value(12))
+                .andExpect(jsonPath("result").value(UploadResult.OK))
+                .andExpect(jsonPath("inserted").value(108))
+                .andExpect(jsonPath("rowsPerSecond").exists())
+                .andExpect(jsonPath("error").doesNotExist());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/uploadJobs/job-2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("status").value("FAILED"))
+                .andExpect(jsonPath("rows").value(5))
+                .andExpect(jsonPath("error").value(UploadResult.WRONG_FORM))
+                .andExpect(jsonPath("result").doesNotExist());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/uploadJobs/job-3"))
+                .andExpect(status().isNotFound());
+    }
+
+    //1.6 비동기 업로드 대기열이 가득 찬 경우
+    @Test
+    public void postUploadSupportData_asyncRejected() throws Exception{
+
+        given(uploadJobService.submit(any(Path.class), any(UploadMode.class))).willThrow(new UploadJobRejectedException());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .multipart("/finance/uploadSupportData")
+                .file("file", "TEST".getBytes())
+                .param("async", "true"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("result").value(UploadResult.BUSY));
+    }
+
+    //1.7 서버 가져오기 폴더의 파일 저장, 작업 id 를 바로 응답
+    @Test
+    public void postImportSupportData() throws Exception{
+
+        given(uploadJobService.submitImport("support.csv", UploadMode.APPEND))
+                .willReturn(new UploadJob("job-1", UploadMode.APPEND));
+        given(uploadJobService.submitImport("../support.csv", UploadMode.APPEND))
+                .willThrow(new WrongParameterException());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/finance/admin/importSupportData")
+                .param("file", "support.csv"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("jobId").value("job-1"))
+                .andExpect(jsonPath("status").value("QUEUED"));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/finance/admin/importSupportData")
+                .param("file", "../support.csv"))
+                .andExpect(status().isBadRequest());
     }
 
     /*********************************************/
@@ -123,6 +294,28 @@ public class FinanceControllerTests {
 
     }
 
+    //2.3 금융기관 목록이 바뀌면 바뀐 목록으로 응답 (같은 목록이면 응답전문 재사용)
+    @Test
+    public void getFindAllBanks_shouldReflectChangedBanks() throws Exception{
+
+        given(financeService.findAllBanks()).willReturn(
+                Collections.singletonList(new Bank("금융기관1")),
+                Collections.singletonList(new Bank("금융기관1")),
+                Arrays.asList(new Bank("금융기관1"), new Bank("금융기관2")));
+
+        for(int i = 0; i < 2; i++){
+            mockMvc.perform(MockMvcRequestBuilders
+                    .get("/finance/findAllBanks"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json("{\"banks\":[{\"bankName\":\"금융기관1\"}]}", true));
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findAllBanks"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"banks\":[{\"bankName\":\"금융기관1\"},{\"bankName\":\"금융기관2\"}]}", true));
+    }
+
     /*********************************************/
     //3. 연도별 각 금융기관의 지원금액 합계를 출력하는 API
     //3.1 정상적으로 데이터가 출력 되는 경우
@@ -130,7 +323,7 @@ public class FinanceControllerTests {
     public void getFindSupportsStatics_shouldSuccessGet() throws Exception{
 
         //서비스에서 리턴될 집계자료 목록
-        Map<String, List<BankSupports>> supportStatics = new HashMap<>();
+        Map<Integer, List<BankSupports>> supportStatics = new HashMap<>();
         List<BankSupports> banks = new ArrayList<>();
         Bank bank;
         BankSupports bankSupports;
@@ -143,9 +336,9 @@ public class FinanceControllerTests {
                 bankSupports.addSupports(
                         new Support(
                                 bank,
-                                "2000",
-                                String.valueOf(j),
-                                BigDecimal.TEN.multiply(BigDecimal.valueOf(i))
+                                2000,
+                                j,
+                                10L * i
                         )
                 );
             }
@@ -153,14 +346,14 @@ public class FinanceControllerTests {
             banks.add(bankSupports);
         }
 
-        supportStatics.put("2010", banks);
-        supportStatics.put("2009", banks);
-        supportStatics.put("2004", banks);
-        supportStatics.put("2006", banks);
-        supportStatics.put("2000", banks);
+        supportStatics.put(2010, banks);
+        supportStatics.put(2009, banks);
+        supportStatics.put(2004, banks);
+        supportStatics.put(2006, banks);
+        supportStatics.put(2000, banks);
 
         //지원금액 데이터 통계자료 조회
-        given(financeService.findSupportStatics()).willReturn(supportStatics);
+        given(financeService.streamSupportStatics(any(SupportFilter.class), any())).willAnswer(streamStatics(supportStatics));
 
         mockMvc.perform(MockMvcRequestBuilders
                 .get("/finance/findSupportStatics"))
@@ -180,10 +373,10 @@ public class FinanceControllerTests {
     public void getFindSupportsStatics_noDataFound() throws Exception{
 
         //서비스에서 리턴될 집계자료 목록
-        Map<String, List<BankSupports>> supportStatics = new HashMap<>();
+        Map<Integer, List<BankSupports>> supportStatics = new HashMap<>();
 
         //지원금액 데이터 통계자료 조회
-        given(financeService.findSupportStatics()).willReturn(supportStatics);
+        given(financeService.streamSupportStatics(any(SupportFilter.class), any())).willAnswer(streamStatics(supportStatics));
 
         mockMvc.perform(MockMvcRequestBuilders
                 .get("/finance/findSupportStatics"))
@@ -191,6 +384,130 @@ public class FinanceControllerTests {
 
     }
 
+    //3.3 조회 조건 전달 (연도 범위, 월, 금융기관)
+    @Test
+    public void getFindSupportsStatics_withFilter() throws Exception{
+
+        Bank bank = new Bank(1L, "국민은행");
+        Map<Integer, List<BankSupports>> supportStatics = new HashMap<>();
+        supportStatics.put(2016, Collections.singletonList(new BankSupports(bank, 30L, 2L, 10L, 20L)));
+
+        given(financeService.streamSupportStatics(any(SupportFilter.class), any())).willAnswer(invocation -> {
+            SupportFilter filter = invocation.getArgument(0);
+
+            assertThat(filter.includesYear(2014)).isFalse();
+            assertThat(filter.includesYear(2016)).isTrue();
+            assertThat(filter.includesYear(2018)).isFalse();
+            assertThat(filter.includesMonth(1)).isTrue();
+            assertThat(filter.includesMonth(3)).isFalse();
+            assertThat(filter.includesBank("국민은행")).isTrue();
+            assertThat(filter.includesBank("우리은행")).isFalse();
+
+            return streamStatics(supportStatics).answer(invocation);
+        });
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics")
+                .param("fromYear", "2015")
+                .param("toYear", "2017")
+                .param("months", "1,2")
+                .param("banks", "국민은행"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("statics[0].year").value("2016"))
+                .andExpect(jsonPath("statics[0].totalAmount").value(30));
+    }
+
+    //3.3.1 NDJSON 으로 요청한 경우 한 줄에 한 연도씩
+    @Test
+    public void getFindSupportsStatics_ndjson() throws Exception{
+
+        Bank kookmin = new Bank(1L, "국민은행");
+        Bank woori = new Bank(2L, "우리은행");
+
+        Map<Integer, List<BankSupports>> supportStatics = new HashMap<>();
+        supportStatics.put(2016, Arrays.asList(
+                new BankSupports(kookmin, 30L, 2L, 10L, 20L),
+                new BankSupports(woori, 5L, 1L, 5L, 5L)));
+        supportStatics.put(2017, Collections.singletonList(new BankSupports(kookmin, 7L, 1L, 7L, 7L)));
+
+        given(financeService.streamSupportStatics(any(SupportFilter.class), any())).willAnswer(streamStatics(supportStatics));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics")
+                .accept("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+
+        assertThat(lines).containsExactly(
+                "{\"year\":\"2016\",\"totalAmount\":35,\"detailAmount\":[{\"국민은행\":30},{\"우리은행\":5}]}",
+                "{\"year\":\"2017\",\"totalAmount\":7,\"detailAmount\":[{\"국민은행\":7}]}");
+    }
+
+    //3.3.2 NDJSON 으로 요청했는데 데이터가 한 건도 없는 경우
+    @Test
+    public void getFindSupportsStatics_ndjsonNoDataFound() throws Exception{
+
+        given(financeService.streamSupportStatics(any(SupportFilter.class), any()))
+                .willAnswer(streamStatics(new HashMap<>()));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics")
+                .accept("application/x-ndjson"))
+                .andExpect(status().isNotFound());
+    }
+
+    //3.4 잘못된 월 조건
+    @Test
+    public void getFindSupportsStatics_wrongMonth() throws Exception{
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics")
+                .param("months", "13"))
+                .andExpect(status().isBadRequest());
+    }
+
+    //3.4.1 잘못된 조건 (월, 연도 범위) 은 ETag 가 같아도 304 가 아닌 400
+    @Test
+    public void getFindSupportsStatics_wrongFilterWithCurrentETag() throws Exception{
+
+        String eTag = mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        for(String url : Arrays.asList(
+                "/finance/findSupportStatics",
+                "/finance/findLargestSupportBank",
+                "/finance/findBankSupportLargestAndSmallestAverage/KEB")){
+            mockMvc.perform(MockMvcRequestBuilders
+                    .get(url)
+                    .param("months", "13")
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isBadRequest());
+
+            mockMvc.perform(MockMvcRequestBuilders
+                    .get(url)
+                    .param("fromYear", "2017")
+                    .param("toYear", "2015")
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isBadRequest());
+        }
+
+        String ndjsonETag = mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics")
+                .accept("application/x-ndjson"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics")
+                .accept("application/x-ndjson")
+                .param("months", "13")
+                .header(HttpHeaders.IF_NONE_MATCH, ndjsonETag))
+                .andExpect(status().isBadRequest());
+    }
+
     /*********************************************/
     //4. 각 연도별 각 기관의 전체 지원금액 중에서 가장 큰 금액의 기관명을 출력하는 API
     //4.1 정상적으로 데이터가 출력 되는 경우
@@ -198,7 +515,7 @@ public class FinanceControllerTests {
     public void getFindLargestSupportBank_shouldSuccessGet() throws Exception{
 
         //서비스에서 리턴될 집계자료 목록
-        Map<String, List<BankSupports>> supportStatics = new HashMap<>();
+        Map<Integer, List<BankSupports>> supportStatics = new HashMap<>();
         List<BankSupports> banks;
         Bank bank;
         BankSupports bankSupports;
@@ -214,20 +531,19 @@ public class FinanceControllerTests {
                     bankSupports.addSupports(
                             new Support(
                                     bank,
-                                    String.valueOf(2000+y),
-                                    String.valueOf(j),
-                                    BigDecimal.TEN
-                                            .multiply(BigDecimal.valueOf(i+y))
+                                    2000+y,
+                                    j,
+                                    10L * (i+y)
                             )
                     );
                 }
                 banks.add(bankSupports);
             }
-            supportStatics.put(String.valueOf(2000+y), banks);
+            supportStatics.put(2000+y, banks);
         }
 
         //지원금액 데이터 통계자료 조회
-        given(financeService.findSupportStatics()).willReturn(supportStatics);
+        given(financeService.findSupportStatics(any(SupportFilter.class))).willReturn(supportStatics);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .get("/finance/findLargestSupportBank"))
@@ -242,10 +558,10 @@ public class FinanceControllerTests {
     public void getFindLargestSupportBank_noDataFound() throws Exception{
 
         //서비스에서 리턴될 집계자료 목록
-        Map<String, List<BankSupports>> supportStatics = new HashMap<>();
+        Map<Integer, List<BankSupports>> supportStatics = new HashMap<>();
 
         //지원금액 데이터 통계자료 조회
-        given(financeService.findSupportStatics()).willReturn(supportStatics);
+        given(financeService.findSupportStatics(any(SupportFilter.class))).willReturn(supportStatics);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .get("/finance/findLargestSupportBank"))
@@ -260,7 +576,7 @@ public class FinanceControllerTests {
     public void getBankSupportLargestAndSmallestAverage_shouldSuccessGet() throws Exception {
 
         //서비스에서 리턴될 집계자료 목록
-        Map<String, BankSupports> supportStatics = new HashMap<>();
+        Map<Integer, BankSupports> supportStatics = new HashMap<>();
 
         Bank bank = new Bank("TEST");
         BankSupports bankSupports;
@@ -273,19 +589,18 @@ public class FinanceControllerTests {
                 bankSupports.addSupports(
                         new Support(
                                 bank,
-                                String.valueOf(2000+y),
-                                String.valueOf(j),
-                                BigDecimal.TEN
-                                        .multiply(BigDecimal.valueOf(y+1))
+                                2000+y,
+                                j,
+                                10L * (y+1)
                         )
                 );
             }
 
-            supportStatics.put(String.valueOf(2000+y), bankSupports);
+            supportStatics.put(2000+y, bankSupports);
         }
 
         //특정 은행의 지원금액 데이터 통계자료 조회
-        given(financeService.findSupportStaticsByBank(anyString())).willReturn(supportStatics);
+        given(financeService.findSupportStaticsByBank(anyString(), any(SupportFilter.class))).willReturn(supportStatics);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .get("/finance/findBankSupportLargestAndSmallestAverage/KEB"))
@@ -302,10 +617,10 @@ public class FinanceControllerTests {
     public void getBankSupportLargestAndSmallestAverage_noDataFound() throws Exception{
 
         //서비스에서 리턴될 집계자료 목록
-        Map<String, BankSupports> supportStatics = new HashMap<>();
+        Map<Integer, BankSupports> supportStatics = new HashMap<>();
 
         //특정 은행의 지원금액 데이터 통계자료 조회
-        given(financeService.findSupportStaticsByBank(anyString())).willReturn(supportStatics);
+        given(financeService.findSupportStaticsByBank(anyString(), any(SupportFilter.class))).willReturn(supportStatics);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .get("/finance/findBankSupportLargestAndSmallestAverage/TEST"))
@@ -320,23 +635,26 @@ public class FinanceControllerTests {
     public void getForcastMontlySupportForBank_shouldSuccessGet() throws Exception {
         //서비스에서 리턴될 예상 지원금액과 년도
         Map<String, Object> forecastAmountAndYear = new HashMap<>();
-        forecastAmountAndYear.put("bankId", "1");
+        forecastAmountAndYear.put("bankId", 1L);
         forecastAmountAndYear.put("year", "2018");
         forecastAmountAndYear.put("month", "2");
-        forecastAmountAndYear.put("amount", BigDecimal.valueOf(0.0));
+        forecastAmountAndYear.put("model", "POLYNOMIAL(3)");
+        forecastAmountAndYear.put("amount", 0L);
 
         //특정 은행의 특정 달 차년도 예상 지원금액 서비스
-        given(financeService.calcForcastMontlySupportForBank(anyString(), anyString())).willReturn(forecastAmountAndYear);
+        given(financeService.calcForcastMontlySupportForBank(anyString(), anyString(), eq(ForecastModels.DEFAULT))).willReturn(forecastAmountAndYear);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/finance/calcForecastMonthlySupportForBank")
                 .contentType(MediaType.APPLICATION_JSON_UTF8)
                 .content("{\"bankName\":\"국민은행\",\"month\":\"2\"}"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("bankId").value("1"))
+                .andExpect(jsonPath("bankId").value(1))
                 .andExpect(jsonPath("year").value("2018"))
                 .andExpect(jsonPath("month").value("2"))
-                .andExpect(jsonPath("amount").value(BigDecimal.valueOf(0.0)));
+                .andExpect(jsonPath("model").value("POLYNOMIAL(3)"))
+                .andExpect(jsonPath("amount").value(0))
+                .andExpect(jsonPath("bank").doesNotExist());
     }
 
     //6.2 데이터가 한 건도 없는 경우
@@ -347,7 +665,7 @@ public class FinanceControllerTests {
         Map<String, Object> supportStatics = new HashMap<>();
 
         //특정 은행의 지원금액 데이터 통계자료 조회
-        given(financeService.calcForcastMontlySupportForBank(anyString(), anyString())).willReturn(supportStatics);
+        given(financeService.calcForcastMontlySupportForBank(anyString(), anyString(), eq(ForecastModels.DEFAULT))).willReturn(supportStatics);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/finance/calcForecastMonthlySupportForBank")
@@ -355,4 +673,289 @@ public class FinanceControllerTests {
                 .content("{\"bankName\":\"국민은행\",\"month\":\"2\"}"))
                 .andExpect(status().isNotFound());
     }
+
+    //6.3 JSON 파라미터로 예측 모델 지정
+    @Test
+    public void postForecastMonthlySupportForBank_withModel() throws Exception {
+        Map<String, Object> forecastData = new HashMap<>();
+        forecastData.put("bankId", 1L);
+        forecastData.put("year", "2018");
+        forecastData.put("month", "2");
+        forecastData.put("model", "LINEAR");
+        forecastData.put("amount", 100L);
+
+        given(financeService.calcForcastMontlySupportForBank(eq("국민은행"), eq("2"), any()))
+                .willAnswer(invocation -> {
+                    assertThat(((ForecastModel) invocation.getArgument(2)).getName()).isEqualTo("LINEAR");
+                    return forecastData;
+                });
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/finance/calcForecastMonthlySupportForBank")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"bankName\":\"국민은행\",\"month\":\"2\",\"model\":\"LINEAR\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("model").value("LINEAR"))
+                .andExpect(jsonPath("amount").value(100));
+    }
+
+    /**********************************************************************/
+    //7. 특정 금융기관의 차년도 월별 금융지원 금액을 한번에 예측하는 API
+    //7.1 정상적으로 예측될 경우
+    @Test
+    public void postForecastYearlySupportForBank_shouldSuccessPost() throws Exception {
+        Bank bank = new Bank(1L, "국민은행");
+
+        List<SupportForecast> forecasts = new ArrayList<>();
+        for(int month = 1; month <= 12; month++){
+            forecasts.add(new SupportForecast(bank, 2018, month, "POLYNOMIAL(3)", 100L * month));
+        }
+
+        given(financeService.calcForecastYearlySupportForBank("국민은행", ForecastModels.DEFAULT)).willReturn(forecasts);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/finance/calcForecastYearlySupportForBank")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"bankName\":\"국민은행\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("bank").value("국민은행"))
+                .andExpect(jsonPath("forecasts").isArray())
+                .andExpect(jsonPath("forecasts.length()").value(12))
+                .andExpect(jsonPath("forecasts[0].year").value("2018"))
+                .andExpect(jsonPath("forecasts[0].month").value("1"))
+                .andExpect(jsonPath("forecasts[11].amount").value(1200));
+    }
+
+    //8. 전체 금융기관의 차년도 월별 금융지원 금액을 한번에 예측하는 API
+    //8.1 데이터가 한 건도 없는 경우
+    @Test
+    public void getForecastYearlySupportForAllBanks_noDataFound() throws Exception {
+        given(financeService.calcForecastYearlySupportForAllBanks(ForecastModels.DEFAULT)).willReturn(new ArrayList<>());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/calcForecastYearlySupportForAllBanks"))
+                .andExpect(status().isNotFound());
+    }
+
+    //9. 전체 금융기관의 차년도 월별 금융지원 금액을 NDJSON 으로 출력하는 API
+    //9.1 정상적으로 예측될 경우, 한 줄에 예측 하나씩
+    @Test
+    public void getStreamForecastYearlySupportForAllBanks_shouldWriteLines() throws Exception {
+        Bank kookmin = new Bank(1L, "국민은행");
+        Bank woori = new Bank(2L, "우리은행");
+
+        given(financeService.streamForecastYearlySupportForAllBanks(eq(ForecastModels.DEFAULT), any())).willAnswer(invocation -> {
+            Consumer<SupportForecast> forecastConsumer = invocation.getArgument(1);
+            forecastConsumer.accept(new SupportForecast(kookmin, 2018, 1, "POLYNOMIAL(3)", 100L));
+            forecastConsumer.accept(new SupportForecast(woori, 2018, 1, "POLYNOMIAL(3)", 200L));
+            return 2;
+        });
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/streamForecastYearlySupportForAllBanks"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+
+        assertThat(lines.length).isEqualTo(2);
+        assertThat(lines[0]).contains("\"bank\":\"국민은행\"").contains("\"amount\":100");
+        assertThat(lines[1]).contains("\"bank\":\"우리은행\"").contains("\"amount\":200");
+    }
+
+    //9.2 데이터가 한 건도 없는 경우
+    @Test
+    public void getStreamForecastYearlySupportForAllBanks_noDataFound() throws Exception {
+        given(financeService.streamForecastYearlySupportForAllBanks(eq(ForecastModels.DEFAULT), any())).willReturn(0);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/streamForecastYearlySupportForAllBanks"))
+                .andExpect(status().isNotFound());
+    }
+
+    //10. 예측 모델 백테스트 API
+    //10.1 지정한 모델로 백테스트
+    @Test
+    public void getBacktestForecastModel_shouldSuccess() throws Exception {
+        ForecastErrors errors = new ForecastErrors();
+        errors.add(100, 110);
+        errors.add(200, 190);
+
+        given(financeService.backtestForecastModel(any(), eq(5)))
+                .willReturn(new ForecastBacktest("SEASONAL_NAIVE", 1, errors, 3L));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/backtestForecastModel")
+                .param("model", ForecastMethod.SEASONAL_NAIVE.name())
+                .param("minTrainSize", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("model").value("SEASONAL_NAIVE"))
+                .andExpect(jsonPath("series").value(1))
+                .andExpect(jsonPath("forecasts").value(2))
+                .andExpect(jsonPath("mae").value(10.0))
+                .andExpect(jsonPath("rmse").value(10.0))
+                .andExpect(jsonPath("mape").value(closeTo(7.5, 1e-9)));
+    }
+
+    //10.2 잘못된 모델 파라미터
+    @Test
+    public void getBacktestForecastModel_wrongParameter() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/backtestForecastModel")
+                .param("model", ForecastMethod.EXPONENTIAL_SMOOTHING.name())
+                .param("alpha", "1.5"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**********************************************************************/
+    //11. 조회 API 조건부 요청 (데이터셋 버전 ETag)
+    //11.1 ETag 가 같으면 서비스를 호출하지 않고 304
+    @Test
+    public void getFindAllBanks_notModified() throws Exception {
+        given(financeService.findAllBanks()).willReturn(Collections.singletonList(new Bank("금융기관1")));
+
+        String eTag = mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findAllBanks"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findAllBanks")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        verify(financeService, times(1)).findAllBanks();
+    }
+
+    //11.2 업로드가 끝나면 ETag 가 바뀌어서 다시 조회
+    @Test
+    public void getFindSupportStatics_modifiedAfterUpload() throws Exception {
+        given(financeService.streamUploadSupportData(any(InputStream.class), eq(UploadMode.APPEND)))
+                .willReturn(new UploadStatics(UploadResult.OK, 1, 1, 1, 0, 0, 1));
+
+        String eTag = mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .multipart("/finance/uploadSupportData")
+                .file("file", "TEST".getBytes()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotFound());
+
+        verify(financeService, times(2)).streamSupportStatics(any(), any());
+    }
+
+    //11.2.1 같은 초에 업로드가 두번 끝나도, If-Modified-Since 만 보내면 두번째 업로드 뒤에는 다시 조회
+    @Test
+    public void getFindSupportStatics_modifiedAfterUploadsInSameSecond() throws Exception {
+        given(financeService.streamUploadSupportData(any(InputStream.class), eq(UploadMode.APPEND)))
+                .willReturn(new UploadStatics(UploadResult.OK, 1, 1, 1, 0, 0, 1));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .multipart("/finance/uploadSupportData")
+                .file("file", "TEST".getBytes()))
+                .andExpect(status().isOk());
+
+        long lastModified = mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics"))
+                .andReturn().getResponse().getDateHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .multipart("/finance/uploadSupportData")
+                .file("file", "TEST".getBytes()))
+                .andExpect(status().isOk());
+
+        long nextLastModified = mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotFound())
+                .andReturn().getResponse().getDateHeader(HttpHeaders.LAST_MODIFIED);
+
+        assertThat(nextLastModified).isGreaterThan(lastModified);
+        verify(financeService, times(2)).streamSupportStatics(any(), any());
+    }
+
+    //11.3 같은 URL 이라도 JSON 과 NDJSON 응답은 ETag 가 다름
+    @Test
+    public void getFindSupportStatics_ndjsonETagDiffers() throws Exception {
+        String eTag = mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics")
+                .accept("application/x-ndjson")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotFound());
+    }
+
+    //11.3.1 JSON, NDJSON 을 고르는 URL 은 200, 304 모두 Vary: Accept
+    @Test
+    public void getFindSupportStatics_varyAccept() throws Exception {
+        String eTag = mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+
+        String ndjsonETag = mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics")
+                .accept("application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findSupportStatics")
+                .accept("application/x-ndjson")
+                .header(HttpHeaders.IF_NONE_MATCH, ndjsonETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+
+    //11.4 예측, 백테스트도 ETag 가 같으면 서비스 호출 없음
+    @Test
+    public void getForecastAndBacktest_notModified() throws Exception {
+        String eTag = mockMvc.perform(MockMvcRequestBuilders
+                .get("/finance/findLargestSupportBank"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        for(String url : Arrays.asList(
+                "/finance/calcForecastYearlySupportForAllBanks",
+                "/finance/backtestForecastModel",
+                "/finance/findBankSupportLargestAndSmallestAverage/KEB")){
+            mockMvc.perform(MockMvcRequestBuilders
+                    .get(url)
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified());
+        }
+
+        verify(financeService, never()).calcForecastYearlySupportForAllBanks(any());
+        verify(financeService, never()).backtestForecastModel(any(), any(Integer.class));
+        verify(financeService, never()).findSupportStaticsByBank(anyString(), any(SupportFilter.class));
+    }
+
+    //서비스의 연도별 통계 스트리밍 (연도 오름차순으로 전달)
+    private Answer<Integer> streamStatics(Map<Integer, List<BankSupports>> supportStatics){
+        return invocation -> {
+            BiConsumer<Integer, List<BankSupports>> yearlyConsumer = invocation.getArgument(1);
+            new TreeMap<>(supportStatics).forEach(yearlyConsumer);
+            return supportStatics.size();
+        };
+    }
 }
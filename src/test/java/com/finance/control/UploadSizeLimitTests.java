@@ -0,0 +1,76 @@
+package com.finance.control;
+
+import com.mixin.UploadResult;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.nio.charset.Charset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//업로드 파일 크기 제한 테스트 (MockMvc 는 multipart 크기 제한을 거치지 않으므로 실제 서블릿 컨테이너로)
+@RunWith(SpringRunner.class)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.datasource.generate-unique-name=true", "finance.snapshot.file="})
+public class UploadSizeLimitTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    //기본 제한(파일 1MB, 요청 10MB)보다 큰 파일도 업로드
+    @Test
+    public void postUploadSupportData_largerThanDefaultLimit() {
+
+        //행 수를 줄이도록 금액 자릿수를 크게
+        StringBuilder contents = new StringBuilder("연도,월");
+        for(int bank = 1; bank <= 10; bank++){
+            contents.append(",금융기관").append(bank).append("(억원)");
+        }
+        contents.append('\n');
+
+        int rows = 0;
+        while (contents.length() < 1100 * 1024){
+            contents.append(2000 + rows / 12).append(',').append(rows % 12 + 1);
+            for(int bank = 1; bank <= 10; bank++){
+                contents.append(',').append(100_000_000_000_000L + rows);
+            }
+            contents.append('\n');
+            rows++;
+        }
+
+        byte[] fileBytes = contents.toString().getBytes(Charset.forName("EUC-KR"));
+        assertThat(fileBytes.length).isGreaterThan(1024 * 1024);
+
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", new ByteArrayResource(fileBytes) {
+            @Override
+            public String getFilename() {
+                return "support.csv";
+            }
+        });
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        ResponseEntity<Map> response = restTemplate.postForEntity(
+                "/finance/uploadSupportData", new HttpEntity<>(body, headers), Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().get("result")).isEqualTo(UploadResult.OK);
+        assertThat(response.getBody().get("rows")).isEqualTo(rows);
+    }
+}
@@ -0,0 +1,74 @@
+package com.finance.data;
+
+import com.finance.model.SupportSummary;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//prod 프로필 스키마 (db/schema.sql) 테스트, 파일 대신 메모리 DB 로
+//Hibernate 가 엔티티와 스키마를 검사하므로 (ddl-auto=validate) 컨텍스트가 뜨면 테이블, 컬럼, 시퀀스가 맞음
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@ActiveProfiles("prod")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:prod-schema;DB_CLOSE_ON_EXIT=FALSE")
+public class ProdSchemaTests {
+
+    @Autowired
+    private BankRepository bankRepository;
+
+    @Autowired
+    private SupportRepository supportRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Value("${spring.jpa.hibernate.ddl-auto}")
+    private String ddlAuto;
+
+    //Hibernate 가 테이블을 만들지 않고 schema.sql 로 생성
+    @Test
+    public void schema_createdBySchemaSql() throws Exception{
+
+        assertThat(ddlAuto).isEqualTo("validate");
+
+        List<Object> indexes = entityManager.getEntityManager()
+                .createNativeQuery("select distinct index_name from information_schema.indexes " +
+                        "where table_name in ('SUPPORT', 'BANK')")
+                .getResultList();
+
+        assertThat(indexes).contains("IDX_SUPPORT_BANK_YEAR_MONTH", "IDX_SUPPORT_BANK_MONTH", "IDX_BANK_BANK_NAME");
+    }
+
+    //배치 저장 후 집계 (시퀀스 증가폭과 pooled 할당이 맞아서 id 가 겹치지 않음)
+    @Test
+    public void saveAllInBatch_summarize() throws Exception{
+
+        Bank bank = bankRepository.save(new Bank("TEST"));
+
+        List<Support> supports = new ArrayList<>();
+        for(int index = 0; index < 120; index++){
+            supports.add(new Support(bank, 2000 + index / 12, index % 12 + 1, index));
+        }
+        supportRepository.saveAllInBatch(supports);
+
+        assertThat(supportRepository.count()).isEqualTo(120L);
+        assertThat(supportRepository.findAllSupportValues()).hasSize(120);
+
+        List<SupportSummary> summaries = supportRepository.summarizeByBankAndYearAndMonth();
+        assertThat(summaries).hasSize(120);
+        assertThat(bankRepository.findByBankName("TEST")).hasSize(1);
+    }
+}
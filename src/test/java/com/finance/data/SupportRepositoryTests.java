@@ -1,5 +1,6 @@
 package com.finance.data;
 
+import com.finance.model.SupportSummary;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,7 +8,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.junit4.SpringRunner;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,17 +35,17 @@ public class SupportRepositoryTests {
         entityManager.persistFlushFind(
             new Support(
                     savedBank,
-                    "2000",
-                    "1",
-                    BigDecimal.ONE));
+                    2000,
+                    1,
+                    1L));
 
         List<Support> supports = supportRepository.findByBank(savedBank);
 
         assertThat(supports.size()).isEqualTo(1);
         assertThat(supports.get(0).getBank().getBankName()).isEqualTo("TEST");
-        assertThat(supports.get(0).getYear()).isEqualTo("2000");
-        assertThat(supports.get(0).getMonth()).isEqualTo("1");
-        assertThat(supports.get(0).getAmount().longValue()).isEqualTo(1L);
+        assertThat(supports.get(0).getYear()).isEqualTo(2000);
+        assertThat(supports.get(0).getMonth()).isEqualTo(1);
+        assertThat(supports.get(0).getAmount()).isEqualTo(1L);
     }
 
     //금융기관과 특정 월에 해당하는 자료목록 찾기 테스트
@@ -56,13 +57,122 @@ public class SupportRepositoryTests {
         entityManager.persistFlushFind(
             new Support(
                     savedBank,
-                    "2000",
-                    "1",
-                    BigDecimal.ONE));
+                    2000,
+                    1,
+                    1L));
 
 
-        List<Support> supports = supportRepository.findByBankAndMonth(savedBank, "1");
+        List<Support> supports = supportRepository.findByBankAndMonth(savedBank, 1);
 
         assertThat(supports.size()).isEqualTo(1);
     }
+
+    //연도, 월별, 금융기관별 집계 테스트
+    @Test
+    public void summarizeByBankAndYearAndMonth_returnSummaries() throws Exception{
+
+        Bank bank1 = entityManager.persistFlushFind(new Bank("TEST1"));
+        Bank bank2 = entityManager.persistFlushFind(new Bank("TEST2"));
+
+        entityManager.persist(new Support(bank1, 2000, 1, 1L));
+        entityManager.persist(new Support(bank1, 2000, 1, 10L));
+        entityManager.persist(new Support(bank1, 2000, 2, 1L));
+        entityManager.persist(new Support(bank2, 2000, 1, 0L));
+        entityManager.flush();
+
+        List<SupportSummary> summaries = supportRepository.summarizeByBankAndYearAndMonth();
+
+        assertThat(summaries.size()).isEqualTo(3);
+
+        SupportSummary summary = summaries.stream()
+                .filter(s -> s.getBankName().equals("TEST1") && s.getMonth() == 1)
+                .findFirst().get();
+
+        assertThat(summary.getYear()).isEqualTo(2000);
+        assertThat(summary.getTotal()).isEqualTo(11L);
+        assertThat(summary.getCount()).isEqualTo(2L);
+        assertThat(summary.getMin()).isEqualTo(1L);
+        assertThat(summary.getMax()).isEqualTo(10L);
+    }
+
+    //배치 저장 테스트
+    @Test
+    public void saveAllInBatch_persistAllSupports() throws Exception{
+
+        Bank savedBank = entityManager.persistFlushFind(new Bank("TEST"));
+
+        List<Support> supports = new ArrayList<>();
+        for(int year = 2000; year < 2010; year++){
+            for(int month = 1; month <= 12; month++){
+                supports.add(
+                    new Support(
+                            savedBank,
+                            year,
+                            month,
+                            1L));
+            }
+        }
+
+        supportRepository.saveAllInBatch(supports);
+
+        assertThat(supportRepository.count()).isEqualTo(120);
+        assertThat(supportRepository.findByBankAndMonth(savedBank, 1).size()).isEqualTo(10);
+    }
+
+    //금융기관의 연도 범위 조회 테스트 (연도, 월 순서)
+    @Test
+    public void findByBankAndYearBetween_returnYearRange() throws Exception{
+
+        Bank savedBank = entityManager.persistFlushFind(new Bank("TEST"));
+        Bank otherBank = entityManager.persistFlushFind(new Bank("OTHER"));
+
+        for(int year = 2015; year >= 2005; year--){
+            entityManager.persist(new Support(savedBank, year, 2, year));
+            entityManager.persist(new Support(savedBank, year, 1, year));
+            entityManager.persist(new Support(otherBank, year, 1, year));
+        }
+        entityManager.flush();
+
+        List<Support> supports = supportRepository.findByBankAndYearBetweenOrderByYearAscMonthAsc(savedBank, 2010, 2012);
+
+        assertThat(supports.size()).isEqualTo(6);
+        assertThat(supports.get(0).getYear()).isEqualTo(2010);
+        assertThat(supports.get(0).getMonth()).isEqualTo(1);
+        assertThat(supports.get(5).getYear()).isEqualTo(2012);
+        assertThat(supports.get(5).getMonth()).isEqualTo(2);
+    }
+
+    //스냅샷용 전체 데이터 조회 테스트 (금융기관, 연도, 월 순서, 값만)
+    @Test
+    public void findAllSupportValues_orderedByBankAndYearAndMonth() throws Exception{
+
+        Bank bank1 = entityManager.persistFlushFind(new Bank("TEST1"));
+        Bank bank2 = entityManager.persistFlushFind(new Bank("TEST2"));
+
+        entityManager.persist(new Support(bank2, 2000, 1, 5L));
+        entityManager.persist(new Support(bank1, 2001, 1, 3L));
+        entityManager.persist(new Support(bank1, 2000, 2, 2L));
+        entityManager.persist(new Support(bank1, 2000, 1, 1L));
+        entityManager.flush();
+
+        List<Object[]> values = supportRepository.findAllSupportValues();
+
+        assertThat(values).hasSize(4);
+        assertThat(values.get(0)).containsExactly(bank1.getId(), 2000, 1, 1L);
+        assertThat(values.get(1)).containsExactly(bank1.getId(), 2000, 2, 2L);
+        assertThat(values.get(2)).containsExactly(bank1.getId(), 2001, 1, 3L);
+        assertThat(values.get(3)).containsExactly(bank2.getId(), 2000, 1, 5L);
+    }
+
+    //금융기관 + 연도 + 월, 금융기관 + 월 복합 인덱스 생성 테스트
+    @Test
+    public void supportIndexes_created() throws Exception{
+
+        List<Object> indexes = entityManager.getEntityManager()
+                .createNativeQuery("select distinct index_name from information_schema.indexes " +
+                        "where table_name = 'SUPPORT'")
+                .getResultList();
+
+        assertThat(indexes).contains("IDX_SUPPORT_BANK_YEAR_MONTH", "IDX_SUPPORT_BANK_MONTH");
+    }
 }
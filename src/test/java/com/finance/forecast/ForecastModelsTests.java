@@ -0,0 +1,51 @@
+package com.finance.forecast;
+
+import com.finance.exception.WrongParameterException;
+import com.mixin.ForecastMethod;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class ForecastModelsTests {
+
+    private final long[] values = {100, 200, 300, 400};
+
+    //1. 요청 파라미터별 예측 모델
+    @Test
+    public void of_eachMethod(){
+        assertThat(ForecastModels.of(ForecastMethod.POLYNOMIAL, 3, 0)).isSameAs(ForecastModels.DEFAULT);
+        assertThat(ForecastModels.of(ForecastMethod.POLYNOMIAL, 2, 0).getName()).isEqualTo("POLYNOMIAL(2)");
+        assertThat(ForecastModels.of(ForecastMethod.LINEAR, 0, 0).getName()).isEqualTo("LINEAR");
+        assertThat(ForecastModels.of(ForecastMethod.EXPONENTIAL_SMOOTHING, 0, 0.5).getName())
+                .isEqualTo("EXPONENTIAL_SMOOTHING(0.5)");
+        assertThat(ForecastModels.of(ForecastMethod.SEASONAL_NAIVE, 0, 0).getName()).isEqualTo("SEASONAL_NAIVE");
+    }
+
+    //2. 모델별 다음 값 예측
+    @Test
+    public void forecast_eachModel(){
+        assertThat(ForecastModels.of(ForecastMethod.LINEAR, 0, 0).forecast(values, 4)).isCloseTo(500, within(1e-9));
+        assertThat(ForecastModels.of(ForecastMethod.POLYNOMIAL, 0, 0).forecast(values, 4)).isCloseTo(250, within(1e-9));
+        assertThat(ForecastModels.of(ForecastMethod.SEASONAL_NAIVE, 0, 0).forecast(values, 3)).isEqualTo(300);
+
+        //100 -> 150 -> 225 -> 312.5
+        assertThat(ForecastModels.of(ForecastMethod.EXPONENTIAL_SMOOTHING, 0, 0.5).forecast(values, 4))
+                .isCloseTo(312.5, within(1e-9));
+    }
+
+    //3. 잘못된 차수, 평활계수
+    @Test(
+            expected = WrongParameterException.class
+    )
+    public void of_wrongDegree(){
+        ForecastModels.of(ForecastMethod.POLYNOMIAL, ForecastModels.MAX_DEGREE + 1, 0);
+    }
+
+    @Test(
+            expected = WrongParameterException.class
+    )
+    public void of_wrongAlpha(){
+        ForecastModels.of(ForecastMethod.EXPONENTIAL_SMOOTHING, 0, 0);
+    }
+}
@@ -0,0 +1,88 @@
+package com.finance.forecast;
+
+import org.apache.commons.math3.fitting.PolynomialCurveFitter;
+import org.apache.commons.math3.fitting.WeightedObservedPoints;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class PolynomialFitterTests {
+
+    //1. commons-math 다항식 추세선과 같은 계수, 예측값
+    @Test
+    public void fit_matchesCommonsMath(){
+        Random random = new Random(83L);
+        PolynomialFitter fitter = new PolynomialFitter(3);
+
+        for(int size = 4; size <= 20; size++){
+            long[] values = new long[size];
+            WeightedObservedPoints obs = new WeightedObservedPoints();
+
+            for(int index = 0; index < size; index++){
+                values[index] = 1000 + random.nextInt(5000);
+                obs.add(index + 1, values[index]);
+            }
+
+            double[] expected = PolynomialCurveFitter.create(3).fit(obs.toList());
+            double[] coefficients = fitter.fit(values, size, new double[4]);
+
+            double expectedForecast =
+                    expected[0] + expected[1] * (size + 1) +
+                    expected[2] * Math.pow(size + 1, 2) + expected[3] * Math.pow(size + 1, 3);
+
+            assertThat(PolynomialFitter.evaluate(coefficients, size + 1))
+                    .isCloseTo(expectedForecast, within(Math.abs(expectedForecast) * 1e-6 + 1e-6));
+
+            for(int index = 0; index < 4; index++){
+                assertThat(coefficients[index]).isCloseTo(expected[index], within(Math.abs(expected[index]) * 1e-6 + 1e-6));
+            }
+        }
+    }
+
+    //2. 3차식 위의 점은 그대로 복원
+    @Test
+    public void fit_exactCubic(){
+        long[] values = new long[10];
+        for(int index = 0; index < values.length; index++){
+            long x = index + 1;
+            values[index] = 7 - 3 * x + 2 * x * x + x * x * x;
+        }
+
+        double[] coefficients = new PolynomialFitter(3).fit(values, values.length, new double[4]);
+
+        assertThat(coefficients[0]).isCloseTo(7, within(1e-6));
+        assertThat(coefficients[1]).isCloseTo(-3, within(1e-6));
+        assertThat(coefficients[2]).isCloseTo(2, within(1e-6));
+        assertThat(coefficients[3]).isCloseTo(1, within(1e-6));
+    }
+
+    //3. 데이터 수가 차수 이하이면 낮은 차수로 맞춤
+    @Test
+    public void fit_fewerPointsThanDegree(){
+        PolynomialFitter fitter = new PolynomialFitter(3);
+
+        double[] constant = fitter.fit(new long[]{500}, 1, new double[4]);
+        assertThat(constant).containsExactly(500, 0, 0, 0);
+
+        double[] line = fitter.fit(new long[]{100, 300}, 2, new double[4]);
+        assertThat(PolynomialFitter.evaluate(line, 3)).isCloseTo(500, within(1e-9));
+        assertThat(line[2]).isEqualTo(0);
+        assertThat(line[3]).isEqualTo(0);
+    }
+
+    //4. 같은 계산기를 재사용해도 이전 계산 결과가 남지 않음
+    @Test
+    public void fit_reuseFitter(){
+        PolynomialFitter fitter = new PolynomialFitter(3);
+        long[] values = {10, 20, 30, 40, 50};
+
+        fitter.fit(new long[]{9, 1, 8, 2, 7, 3}, 6, new double[4]);
+        double[] reused = fitter.fit(values, values.length, new double[4]);
+        double[] fresh = new PolynomialFitter(3).fit(values, values.length, new double[4]);
+
+        assertThat(reused).containsExactly(fresh);
+    }
+}
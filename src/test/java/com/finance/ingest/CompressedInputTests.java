@@ -0,0 +1,77 @@
+package com.finance.ingest;
+
+import com.finance.exception.WrongFormFileException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompressedInputTests {
+
+    private static final byte[] CONTENTS = "연도,월,국민은행(억원)\n2005,1,846\n".getBytes(StandardCharsets.UTF_8);
+
+    //1. 압축되지 않은 파일은 그대로 (4 바이트보다 짧은 파일 포함)
+    @Test
+    public void decompress_plain() throws Exception {
+        assertThat(readAll(CompressedInput.decompress(new ByteArrayInputStream(CONTENTS)))).isEqualTo(CONTENTS);
+        assertThat(readAll(CompressedInput.decompress(new ByteArrayInputStream("PK".getBytes())))).isEqualTo("PK".getBytes());
+        assertThat(readAll(CompressedInput.decompress(new ByteArrayInputStream(new byte[0])))).isEmpty();
+    }
+
+    //2. gzip
+    @Test
+    public void decompress_gzip() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(CONTENTS);
+        }
+
+        assertThat(readAll(CompressedInput.decompress(new ByteArrayInputStream(compressed.toByteArray())))).isEqualTo(CONTENTS);
+    }
+
+    //3. zip, 폴더는 건너뛰고 첫번째 파일
+    @Test
+    public void decompress_zip() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(compressed)) {
+            zip.putNextEntry(new ZipEntry("support/"));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("support/support.csv"));
+            zip.write(CONTENTS);
+            zip.closeEntry();
+        }
+
+        assertThat(readAll(CompressedInput.decompress(new ByteArrayInputStream(compressed.toByteArray())))).isEqualTo(CONTENTS);
+    }
+
+    //3.1 파일이 없는 zip
+    @Test
+    public void decompress_emptyZip() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(compressed)) {
+            zip.putNextEntry(new ZipEntry("support/"));
+            zip.closeEntry();
+        }
+
+        assertThatThrownBy(() -> CompressedInput.decompress(new ByteArrayInputStream(compressed.toByteArray())))
+                .isInstanceOf(WrongFormFileException.class);
+    }
+
+    private byte[] readAll(InputStream in) throws Exception {
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        byte[] buffer = new byte[7];
+        int length;
+        while ((length = in.read(buffer)) > 0){
+            read.write(buffer, 0, length);
+        }
+        return read.toByteArray();
+    }
+}
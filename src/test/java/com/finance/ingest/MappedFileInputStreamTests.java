@@ -0,0 +1,53 @@
+package com.finance.ingest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MappedFileInputStreamTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    //1. 구간보다 큰 파일을 여러 구간으로 나누어 끝까지 읽음
+    @Test
+    public void read_acrossWindows() throws Exception {
+        byte[] fileBytes = new byte[1000];
+        for(int index = 0; index < fileBytes.length; index++){
+            fileBytes[index] = (byte) index;
+        }
+        Path file = folder.newFile().toPath();
+        Files.write(file, fileBytes);
+
+        try (InputStream in = new MappedFileInputStream(file, 64)) {
+            ByteArrayOutputStream read = new ByteArrayOutputStream();
+
+            //한 바이트 읽기와 배열 읽기를 섞어서
+            read.write(in.read());
+            byte[] buffer = new byte[100];
+            int length;
+            while ((length = in.read(buffer, 0, buffer.length)) > 0){
+                read.write(buffer, 0, length);
+            }
+
+            assertThat(read.toByteArray()).isEqualTo(fileBytes);
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    //2. 빈 파일
+    @Test
+    public void read_emptyFile() throws Exception {
+        try (InputStream in = new MappedFileInputStream(folder.newFile().toPath())) {
+            assertThat(in.read()).isEqualTo(-1);
+            assertThat(in.read(new byte[10], 0, 10)).isEqualTo(-1);
+        }
+    }
+}
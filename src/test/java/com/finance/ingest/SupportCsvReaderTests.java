@@ -0,0 +1,133 @@
+package com.finance.ingest;
+
+import com.finance.exception.WrongFormFileException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SupportCsvReaderTests {
+
+    private static final Charset EUC_KR = Charset.forName("EUC-KR");
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    //1. 헤더 열, 금융기관명 정리
+    @Test
+    public void readHeader_columns() throws Exception {
+        SupportCsvReader reader = reader("연도,월,주택도시기금1)(억원),\"농협은행/수협은행(억원)\",,\r\n2005,1,1,2\n", null, 1024);
+
+        List<String> header = reader.readHeader();
+
+        assertThat(header).containsExactly("연도", "월", "주택도시기금1)(억원)", "농협은행/수협은행(억원)", "", "");
+        assertThat(SupportCsvReader.toBankName(header.get(2))).isEqualTo("주택도시기금1");
+        assertThat(SupportCsvReader.toBankName(header.get(3))).isEqualTo("농협은행/수협은행");
+
+        SupportRows rows = reader.next(2);
+        assertThat(rows.size()).isEqualTo(1);
+        assertThat(rows.getAmount(0, 1)).isEqualTo(2L);
+        assertThat(reader.next(2)).isNull();
+    }
+
+    //1.1 빈 파일
+    @Test
+    public void readHeader_emptyFile() throws Exception {
+        assertThat(reader("", null, 1024).readHeader()).isNull();
+    }
+
+    //2. 작은 청크로 잘라서 병렬로 파싱해도 파일 순서대로 같은 결과 (청크보다 긴 줄 포함)
+    @Test
+    public void next_parallelChunksInFileOrder() throws Exception {
+        StringBuilder file = new StringBuilder("연도,월,국민은행(억원),우리은행(억원)\n");
+        for(int row = 0; row < 500; row++){
+            file.append(2000 + row / 12).append(',').append(row % 12 + 1)
+                    .append(",\"").append(String.format("%,d", row * 1000L)).append("\",").append(row).append('\n');
+        }
+        file.append("2100,1,1,").append(String.format("\"%,d\"", Long.MAX_VALUE / 10)).append('\n');
+
+        List<long[]> sequential = readAll(reader(file.toString(), null, 1 << 20));
+        List<long[]> parallel = readAll(reader(file.toString(), executor, 16));
+
+        assertThat(sequential).hasSize(501);
+        assertThat(parallel).hasSize(501);
+        for(int row = 0; row < sequential.size(); row++){
+            assertThat(parallel.get(row)).containsExactly(sequential.get(row));
+        }
+
+        assertThat(sequential.get(30)).containsExactly(2002, 7, 30000, 30);
+        assertThat(sequential.get(500)).containsExactly(2100, 1, 1, Long.MAX_VALUE / 10);
+    }
+
+    //3. 잘못된 행이 있는 청크는 파일 순서상 그 청크를 읽을 때 잘못된 포맷
+    @Test
+    public void next_wrongFormInLaterChunk() throws Exception {
+        StringBuilder file = new StringBuilder("연도,월,국민은행(억원)\n");
+        for(int row = 0; row < 100; row++){
+            file.append("2005,1,").append(row).append('\n');
+        }
+        file.append("2005,13,1\n");
+
+        SupportCsvReader reader = reader(file.toString(), executor, 64);
+        reader.readHeader();
+
+        long rows = 0;
+        try {
+            SupportRows chunk;
+            while ((chunk = reader.next(1)) != null){
+                rows += chunk.size();
+            }
+        } catch (WrongFormFileException e) {
+            assertThat(rows).isGreaterThan(0).isLessThanOrEqualTo(100);
+            return;
+        } finally {
+            reader.close();
+        }
+
+        throw new AssertionError("wrong form expected");
+    }
+
+    //3.1 헤더의 따옴표가 닫히지 않은 경우
+    @Test
+    public void readHeader_unclosedQuote() {
+        assertThatThrownBy(() -> reader("연도,월,\"국민은행\n", null, 1024).readHeader())
+                .isInstanceOf(WrongFormFileException.class);
+    }
+
+    private SupportCsvReader reader(String file, ExecutorService executor, int chunkSize) {
+        return new SupportCsvReader(new ByteArrayInputStream(file.getBytes(EUC_KR)), EUC_KR, executor, chunkSize, 4);
+    }
+
+    //헤더를 건너뛰고 행마다 연도, 월, 금액들
+    private List<long[]> readAll(SupportCsvReader reader) throws Exception {
+        int columns = reader.readHeader().size() - 2;
+        List<long[]> all = new ArrayList<>();
+
+        SupportRows rows;
+        while ((rows = reader.next(columns)) != null){
+            for(int row = 0; row < rows.size(); row++){
+                long[] values = new long[columns + 2];
+                values[0] = rows.getYear(row);
+                values[1] = rows.getMonth(row);
+                for(int column = 0; column < columns; column++){
+                    values[column + 2] = rows.getAmount(row, column);
+                }
+                all.add(values);
+            }
+        }
+
+        return all;
+    }
+}
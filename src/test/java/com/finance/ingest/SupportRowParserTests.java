@@ -0,0 +1,71 @@
+package com.finance.ingest;
+
+import com.finance.exception.WrongFormFileException;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SupportRowParserTests {
+
+    //1. 숫자 변환 : 공백, 따옴표, 천단위 쉼표, 부호
+    @Test
+    public void parseLong_success() {
+        assertThat(parseLong("846")).isEqualTo(846L);
+        assertThat(parseLong(" 846 ")).isEqualTo(846L);
+        assertThat(parseLong("\"1,019\"")).isEqualTo(1019L);
+        assertThat(parseLong("\" 1,234,567 \"")).isEqualTo(1234567L);
+        assertThat(parseLong("-12")).isEqualTo(-12L);
+        assertThat(parseLong("9223372036854775807")).isEqualTo(Long.MAX_VALUE);
+    }
+
+    //1.1 숫자가 아니거나 비었거나 범위를 넘는 경우
+    @Test
+    public void parseLong_wrongForm() {
+        for(String value : new String[]{"", " ", "\"\"", "12a", ",12", "12,", "\"12", "-", "9223372036854775808"}){
+            assertThatThrownBy(() -> parseLong(value))
+                    .as(value)
+                    .isInstanceOf(WrongFormFileException.class);
+        }
+    }
+
+    //2. 행 파싱 : CRLF, 빈 줄, 나머지 열 무시, 마지막 줄바꿈 없음
+    @Test
+    public void parse_rows() {
+        byte[] bytes = ("2005,1,846,\"1,019\",9\r\n" +
+                "\r\n" +
+                "2005,2, 82 ,18\n" +
+                "2006,12,1,2").getBytes(StandardCharsets.US_ASCII);
+
+        SupportRows rows = SupportRowParser.parse(bytes, 0, bytes.length, 2);
+
+        assertThat(rows.size()).isEqualTo(3);
+        assertThat(rows.getYear(0)).isEqualTo(2005);
+        assertThat(rows.getMonth(0)).isEqualTo(1);
+        assertThat(rows.getAmount(0, 0)).isEqualTo(846L);
+        assertThat(rows.getAmount(0, 1)).isEqualTo(1019L);
+        assertThat(rows.getAmount(1, 0)).isEqualTo(82L);
+        assertThat(rows.getYear(2)).isEqualTo(2006);
+        assertThat(rows.getMonth(2)).isEqualTo(12);
+        assertThat(rows.getAmount(2, 1)).isEqualTo(2L);
+    }
+
+    //2.1 열이 모자라거나, 연도, 월이 올바르지 않은 경우
+    @Test
+    public void parse_wrongForm() {
+        for(String line : new String[]{"2005,1,846", "2005,13,846,1", "0,1,846,1", "2005,1,846,\"1,019"}){
+            byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+
+            assertThatThrownBy(() -> SupportRowParser.parse(bytes, 0, bytes.length, 2))
+                    .as(line)
+                    .isInstanceOf(WrongFormFileException.class);
+        }
+    }
+
+    private long parseLong(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        return SupportRowParser.parseLong(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,134 @@
+package com.finance.ingest;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SupportSnapshotTests {
+
+    //1. 쓰고 읽으면 금융기관, 행이 그대로 (음수, 큰 금액, 정렬되지 않은 행 포함)
+    @Test
+    public void writeAndRead() throws Exception {
+
+        SupportSnapshot.Builder builder = new SupportSnapshot.Builder();
+        int kookmin = builder.addBank("주택도시기금1)");
+        int keb = builder.addBank("외환은행");
+        builder.addBank("데이터 없는 기관");
+
+        builder.add(kookmin, 2005, 1, 1019)
+                .add(kookmin, 2005, 2, 1_144_000)
+                .add(keb, 2005, 1, -3)
+                .add(keb, 2004, 12, Long.MAX_VALUE)
+                .add(kookmin, 2017, 12, Long.MIN_VALUE);
+
+        SupportSnapshot snapshot = readBack(builder.build());
+
+        assertThat(snapshot.getBankNames()).containsExactly("주택도시기금1)", "외환은행", "데이터 없는 기관");
+        assertThat(snapshot.size()).isEqualTo(5);
+
+        assertThat(snapshot.getBankIndex(2)).isEqualTo(keb);
+        assertThat(snapshot.getYear(3)).isEqualTo(2004);
+        assertThat(snapshot.getMonth(3)).isEqualTo(12);
+        assertThat(snapshot.getAmount(1)).isEqualTo(1_144_000);
+        assertThat(snapshot.getAmount(2)).isEqualTo(-3);
+        assertThat(snapshot.getAmount(3)).isEqualTo(Long.MAX_VALUE);
+        assertThat(snapshot.getAmount(4)).isEqualTo(Long.MIN_VALUE);
+    }
+
+    //1.1 빈 스냅샷
+    @Test
+    public void writeAndRead_empty() throws Exception {
+
+        SupportSnapshot snapshot = readBack(new SupportSnapshot.Builder().build());
+
+        assertThat(snapshot.getBankNames()).isEmpty();
+        assertThat(snapshot.size()).isZero();
+    }
+
+    //2. 금융기관, 연도, 월 순서로 정렬된 행은 연도, 월, 금융기관 순번이 행마다 1 바이트씩
+    @Test
+    public void write_compact() throws Exception {
+
+        SupportSnapshot.Builder builder = new SupportSnapshot.Builder();
+        for(int bank = 0; bank < 10; bank++){
+            builder.addBank("금융기관" + bank);
+        }
+
+        int rows = 0;
+        for(int bank = 0; bank < 10; bank++){
+            for(int year = 2005; year < 2055; year++){
+                for(int month = 1; month <= 12; month++){
+                    builder.add(bank, year, month, 1000 + month * 37);
+                    rows++;
+                }
+            }
+        }
+
+        byte[] bytes = write(builder.build());
+
+        //금액 2 바이트 + 연도, 월, 금융기관 순번 각 1 바이트
+        assertThat(bytes.length).isLessThan(rows * 5 + 200);
+        assertThat(readBack(bytes).size()).isEqualTo(rows);
+    }
+
+    //3. 형식이 다르거나, 잘렸거나, 내용이 바뀐 파일은 읽지 않음
+    @Test
+    public void read_corrupted() throws Exception {
+
+        SupportSnapshot.Builder builder = new SupportSnapshot.Builder();
+        builder.add(builder.addBank("국민은행"), 2005, 1, 846);
+        byte[] bytes = write(builder.build());
+
+        assertThatThrownBy(() -> readBack("연도,월\n".getBytes()))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> readBack(Arrays.copyOf(bytes, bytes.length - 1)))
+                .isInstanceOf(IOException.class);
+
+        byte[] changed = bytes.clone();
+        changed[changed.length - 6]++;
+        assertThatThrownBy(() -> readBack(changed))
+                .isInstanceOf(IOException.class);
+    }
+
+    //3.1 행 수, 이름 길이가 파일보다 훨씬 큰 파일은 건수만큼 할당하지 않고 잘린 파일로 처리
+    @Test
+    public void read_hugeCounts() throws Exception {
+
+        //금융기관 0개, 행 수 Integer.MAX_VALUE, 행 3개 분량
+        byte[] hugeRows = {0x46, 0x53, 0x4e, 0x50, 1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0, 0, 0};
+        assertThatThrownBy(() -> readBack(hugeRows))
+                .isInstanceOf(IOException.class);
+
+        //금융기관 1개, 이름 길이 Integer.MAX_VALUE
+        byte[] hugeName = {0x46, 0x53, 0x4e, 0x50, 1, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0, 0, 0};
+        assertThatThrownBy(() -> readBack(hugeName))
+                .isInstanceOf(IOException.class);
+    }
+
+    //4. 추가하지 않은 금융기관 순번
+    @Test
+    public void add_unknownBank() {
+        assertThatThrownBy(() -> new SupportSnapshot.Builder().add(0, 2005, 1, 846))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] write(SupportSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        snapshot.write(bytes);
+        return bytes.toByteArray();
+    }
+
+    private static SupportSnapshot readBack(SupportSnapshot snapshot) throws IOException {
+        return readBack(write(snapshot));
+    }
+
+    private static SupportSnapshot readBack(byte[] bytes) throws IOException {
+        return SupportSnapshot.read(new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,55 @@
+package com.finance.model;
+
+import com.finance.data.Bank;
+import com.finance.data.Support;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BankSupportsTests {
+
+    //지원금액 데이터를 추가하면 통계가 누적됨
+    @Test
+    public void addSupports_accumulateStatics() {
+        Bank bank = new Bank("TEST");
+        BankSupports bankSupports = new BankSupports(bank);
+
+        bankSupports.addSupports(new Support(bank, 2000, 1, 10L));
+        bankSupports.addSupports(new Support(bank, 2000, 2, 30L));
+        bankSupports.addSupports(new Support(bank, 2000, 3, 5L));
+
+        assertThat(bankSupports.getSupports().size()).isEqualTo(3);
+        assertThat(bankSupports.getSupportsTotal()).isEqualTo(45L);
+        assertThat(bankSupports.getSupportsCount()).isEqualTo(3L);
+        assertThat(bankSupports.getSupportsMin()).isEqualTo(5L);
+        assertThat(bankSupports.getSupportsMax()).isEqualTo(30L);
+        assertThat(bankSupports.getSupportsAverage()).isEqualTo(15.0);
+    }
+
+    //지원금액 데이터를 보관하지 않아도 통계는 유지됨
+    @Test
+    public void releaseSupports_keepStatics() {
+        Bank bank = new Bank("TEST");
+        BankSupports bankSupports = new BankSupports(bank);
+
+        bankSupports.addSupports(new Support(bank, 2000, 1, 10L));
+        bankSupports.releaseSupports();
+        bankSupports.addSupports(new Support(bank, 2000, 2, 30L));
+
+        assertThat(bankSupports.getSupports()).isEmpty();
+        assertThat(bankSupports.getSupportsTotal()).isEqualTo(40L);
+        assertThat(bankSupports.getSupportsCount()).isEqualTo(2L);
+    }
+
+    //보관하지 않도록 생성
+    @Test
+    public void notRetainSupports_onlyStatics() {
+        Bank bank = new Bank("TEST");
+        BankSupports bankSupports = new BankSupports(bank, false);
+
+        bankSupports.addSupports(new Support(bank, 2000, 1, 10L));
+
+        assertThat(bankSupports.getSupports()).isEmpty();
+        assertThat(bankSupports.getSupportsTotal()).isEqualTo(10L);
+    }
+}
@@ -0,0 +1,277 @@
+package com.finance.service;
+
+import com.finance.data.Bank;
+import com.finance.data.BankRepository;
+import com.finance.data.Support;
+import com.finance.data.SupportRepository;
+import com.finance.exception.WrongFormFileException;
+import com.finance.ingest.SupportSnapshot;
+import com.finance.model.BankSupports;
+import com.finance.model.UploadStatics;
+import com.mixin.UploadMode;
+import com.mixin.UploadResult;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+//실제 DB 로 업로드 저장 테스트 (트랜잭션, 통계 큐브와 DB 일치)
+//업로드가 직접 트랜잭션을 관리하므로 테스트 트랜잭션 없이, 테스트마다 새 DB
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import(FinanceService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class FinanceServiceDatabaseTests {
+
+    private static final Charset EUC_KR = Charset.forName("EUC-KR");
+
+    @Autowired
+    private FinanceService financeService;
+
+    @Autowired
+    private BankRepository bankRepository;
+
+    @Autowired
+    private SupportRepository supportRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    //1. 파일 중간에 실패하면 이미 저장한 묶음까지 취소되고, 통계는 DB 와 같음
+    @Test
+    public void streamUploadSupportData_failedMidFile() throws Exception {
+
+        upload("연도,월,국민은행(억원)\n2005,1,846\n", UploadMode.APPEND);
+
+        //파싱 청크(256KB)를 넘겨서 앞의 묶음이 저장된 뒤에 마지막 행에서 실패
+        StringBuilder contents = new StringBuilder("연도,월,국민은행(억원)");
+        for(int bank = 1; bank < 10; bank++){
+            contents.append(",금융기관").append(bank).append("(억원)");
+        }
+        contents.append('\n');
+        for(int row = 0; row < 2000; row++){
+            contents.append(2006 + row / 12).append(',').append(row % 12 + 1);
+            for(int bank = 0; bank < 10; bank++){
+                contents.append(',').append(100_000_000_000_000L + row);
+            }
+            contents.append('\n');
+        }
+        contents.append("3000,13,1,1,1,1,1,1,1,1,1,1\n");
+
+        //저장 도중에도 커밋되지 않은 새 금융기관은 목록에 보이지 않음
+        AtomicLong savedRows = new AtomicLong();
+        List<String> bankNamesWhileSaving = new ArrayList<>();
+        try {
+            financeService.streamUploadSupportData(
+                    new ByteArrayInputStream(contents.toString().getBytes(EUC_KR)), UploadMode.APPEND, rows -> {
+                        savedRows.set(rows);
+                        financeService.findAllBanks().forEach(bank -> bankNamesWhileSaving.add(bank.getBankName()));
+                    });
+            fail("wrong form");
+        } catch (WrongFormFileException e) {
+            //잘못된 월
+        }
+        assertThat(savedRows.get()).isGreaterThan(0L);
+        assertThat(bankNamesWhileSaving).isNotEmpty().containsOnly("국민은행");
+
+        assertThat(supportRepository.count()).isEqualTo(1L);
+        assertThat(bankRepository.count()).isEqualTo(1L);
+        assertThat(financeService.findAllBanks()).extracting(Bank::getBankName).containsExactly("국민은행");
+
+        Map<Integer, List<BankSupports>> statics = financeService.findSupportStatics();
+        assertThat(statics).containsOnlyKeys(2005);
+        assertThat(statics.get(2005).get(0).getSupportsTotal()).isEqualTo(846L);
+        assertThat(cubeTotal()).isEqualTo(databaseTotal());
+    }
+
+    //1.1 새 금융기관은 업로드가 커밋된 뒤에 목록, 스냅샷에 반영
+    @Test
+    public void streamUploadSupportData_banksPublishedAfterCommit() throws Exception {
+
+        upload("연도,월,국민은행(억원)\n2005,1,846\n", UploadMode.APPEND);
+
+        List<String> bankNamesWhileSaving = new ArrayList<>();
+        financeService.streamUploadSupportData(
+                new ByteArrayInputStream("연도,월,국민은행(억원),외환은행(억원),외환은행(억원)\n2005,2,10,20,30\n".getBytes(EUC_KR)),
+                UploadMode.APPEND,
+                rows -> financeService.findAllBanks().forEach(bank -> bankNamesWhileSaving.add(bank.getBankName())));
+
+        assertThat(bankNamesWhileSaving).containsOnly("국민은행");
+
+        //같은 파일에서 다시 나온 새 금융기관은 한번만 저장
+        assertThat(bankRepository.count()).isEqualTo(2L);
+        assertThat(financeService.findAllBanks()).extracting(Bank::getBankName).containsExactly("국민은행", "외환은행");
+
+        SupportSnapshot snapshot = financeService.createSnapshot();
+        assertThat(snapshot.getBankNames()).containsExactly("국민은행", "외환은행");
+        assertThat(snapshot.size()).isEqualTo(4);
+    }
+
+    //2. UPSERT 파일 안에서 같은 금융기관, 연도, 월이 다시 나오면 수정 (저장 대기중인 묶음, 이미 저장한 묶음 모두)
+    @Test
+    public void streamUploadSupportData_upsertDuplicateKeys() throws Exception {
+
+        StringBuilder contents = new StringBuilder("연도,월,국민은행(억원)\n2005,1,846\n2005,1,500\n");
+        for(int row = 0; row < 1200; row++){
+            contents.append(2006 + row / 12).append(',').append(row % 12 + 1).append(",1\n");
+        }
+        contents.append("2005,1,900\n2005,1,900\n");
+
+        UploadStatics uploadStatics = financeService.streamUploadSupportData(
+                new ByteArrayInputStream(contents.toString().getBytes(EUC_KR)), UploadMode.UPSERT);
+
+        assertThat(uploadStatics.getRows()).isEqualTo(1204L);
+        assertThat(uploadStatics.getInserted()).isEqualTo(1201L);
+        assertThat(uploadStatics.getUpdated()).isEqualTo(2L);
+        assertThat(uploadStatics.getUnchanged()).isEqualTo(1L);
+
+        Bank kookmin = financeService.getSupportCube().getBank("국민은행");
+        assertThat(supportRepository.count()).isEqualTo(1201L);
+        assertThat(supportRepository.findByBankAndYearAndMonth(kookmin, 2005, 1))
+                .extracting(Support::getAmount).containsExactly(900L);
+        assertThat(financeService.findSupportStatics().get(2005).get(0).getSupportsTotal()).isEqualTo(900L);
+        assertThat(cubeTotal()).isEqualTo(databaseTotal()).isEqualTo(900L + 1200L);
+
+        //다시 올려도 중복 저장되지 않음
+        financeService.streamUploadSupportData(
+                new ByteArrayInputStream(contents.toString().getBytes(EUC_KR)), UploadMode.UPSERT);
+        assertThat(supportRepository.count()).isEqualTo(1201L);
+        assertThat(cubeTotal()).isEqualTo(databaseTotal()).isEqualTo(900L + 1200L);
+    }
+
+    //3. APPEND, UPSERT 를 동시에 올려도 통계는 DB 와 같음
+    @Test
+    public void streamUploadSupportData_concurrentAppendAndUpsert() throws Exception {
+
+        upload("연도,월,국민은행(억원),외환은행(억원)\n2005,1,846,1\n", UploadMode.APPEND);
+
+        int uploads = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for(int index = 0; index < uploads; index++){
+                int amount = index + 1;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    upload("연도,월,국민은행(억원),외환은행(억원)\n2006,1," + amount + "," + amount + "\n",
+                            UploadMode.APPEND);
+                    return null;
+                }));
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    upload("연도,월,국민은행(억원)\n2005,1," + amount * 100 + "\n2007,2," + amount + "\n",
+                            UploadMode.UPSERT);
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for(Future<?> future : futures){
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        //APPEND 는 모두 추가, UPSERT 는 같은 월을 한 건으로 유지
+        assertThat(supportRepository.count()).isEqualTo(2L + uploads * 2 + 1);
+        assertThat(financeService.getSupportCube().getCells(2005, financeService.getSupportCube()
+                .getBank("국민은행").getId()).getCount(1)).isEqualTo(1L);
+        assertThat(cubeTotal()).isEqualTo(databaseTotal());
+    }
+
+    //4. 스냅샷 적재가 중간에 실패하면 이미 저장한 금융기관, 묶음까지 취소되고 큐브는 그대로, 다시 적재 가능
+    @Test
+    public void restoreSnapshot_failedMidway() {
+
+        SupportSnapshot.Builder builder = new SupportSnapshot.Builder();
+        int kookmin = builder.addBank("국민은행");
+        for(int row = 0; row < 1500; row++){
+            builder.add(kookmin, 2005 + row / 12, row % 12 + 1, row);
+        }
+        SupportSnapshot snapshot = builder.build();
+
+        //첫 묶음은 저장하고 두번째 묶음에서 실패하는 저장소
+        SupportRepository failingRepository = mock(SupportRepository.class, delegatesTo(supportRepository));
+        AtomicInteger savedChunks = new AtomicInteger();
+        willAnswer(invocation -> {
+            if(savedChunks.incrementAndGet() > 1){
+                throw new IllegalStateException("insert failed");
+            }
+            supportRepository.saveAllInBatch(invocation.getArgument(0));
+            return null;
+        }).given(failingRepository).saveAllInBatch(any());
+
+        FinanceService failingService = new FinanceService(bankRepository, failingRepository, transactionManager, 1, 1);
+        AtomicBoolean cubeRestored = new AtomicBoolean();
+        try {
+            failingService.restoreSnapshot(snapshot, () -> cubeRestored.set(true));
+            fail("insert failed");
+        } catch (IllegalStateException e) {
+            //두번째 묶음
+        } finally {
+            failingService.shutdownPools();
+        }
+
+        assertThat(savedChunks.get()).isEqualTo(2);
+        assertThat(cubeRestored.get()).isFalse();
+        assertThat(failingService.getSupportCube().isEmpty()).isTrue();
+        assertThat(failingService.findAllBanks()).isEmpty();
+        assertThat(supportRepository.count()).isZero();
+        assertThat(bankRepository.count()).isZero();
+
+        assertThat(financeService.restoreSnapshot(snapshot)).isTrue();
+        assertThat(supportRepository.count()).isEqualTo(1500L);
+        assertThat(cubeTotal()).isEqualTo(databaseTotal());
+    }
+
+    private void upload(String contents, UploadMode mode) throws Exception {
+        assertThat(financeService.streamUploadSupportData(new ByteArrayInputStream(contents.getBytes(EUC_KR)), mode)
+                .getResult()).isEqualTo(UploadResult.OK);
+    }
+
+    //통계 큐브의 전체 금액
+    private long cubeTotal() {
+        return financeService.findSupportStatics().values().stream()
+                .flatMap(List::stream)
+                .mapToLong(BankSupports::getSupportsTotal)
+                .sum();
+    }
+
+    //DB 의 전체 금액
+    private long databaseTotal() {
+        return supportRepository.findAllSupportValues().stream()
+                .mapToLong(values -> ((Number) values[3]).longValue())
+                .sum();
+    }
+}
@@ -4,24 +4,48 @@ import com.finance.data.Bank;
 import com.finance.data.BankRepository;
 import com.finance.data.Support;
 import com.finance.data.SupportRepository;
+import com.finance.exception.NotFoundException;
 import com.finance.exception.WrongFormFileException;
+import com.finance.exception.WrongParameterException;
+import com.finance.forecast.ForecastModels;
+import com.finance.ingest.SupportSnapshot;
 import com.finance.model.BankSupports;
+import com.finance.model.ForecastBacktest;
+import com.finance.model.SupportCube;
+import com.finance.model.SupportFilter;
+import com.finance.model.SupportForecast;
+import com.finance.model.SupportSummary;
+import com.finance.model.UploadStatics;
+import com.mixin.ForecastMethod;
+import com.mixin.UploadMode;
 import com.mixin.UploadResult;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.math.BigDecimal;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
 public class FinanceServiceTests {
@@ -34,6 +58,8 @@ public class FinanceServiceTests {
 
     private FinanceService financeService;
 
+    private AtomicLong bankSequence = new AtomicLong();
+
     @Before
     public void setUp() {
         financeService = new FinanceService(bankRepository, supportRepository);
@@ -43,18 +69,7 @@ public class FinanceServiceTests {
     //1.1 정상적으로 입력 된 경우
     @Test
     public void saveUploadSupportData_uploadCorrectFile() throws Exception {
-        given(bankRepository.save(any()))
-                .willReturn(
-                        new Bank("NAME")
-                );
-
-        given(supportRepository.save(any()))
-                .willReturn(
-                        new Support(
-                                new Bank("NAME"),
-                                "2000",
-                                "1", BigDecimal.ZERO)
-                );
+        given(bankRepository.save(any(Bank.class))).willAnswer(this::savedBank);
 
 
         String fileContents =
@@ -86,6 +101,210 @@ public class FinanceServiceTests {
         financeService.saveUploadSupportData(fileContents.getBytes("EUC-KR"));
     }
 
+    //1.4 스트리밍 업로드, 업로드 통계 반환
+    @Test
+    public void streamUploadSupportData_returnUploadStatics() throws Exception {
+        given(bankRepository.save(any(Bank.class))).willAnswer(this::savedBank);
+
+        String fileContents =
+                "연도,월,주택도시기금1)(억원),국민은행(억원),우리은행(억원)\n" +
+                "2005,1,1019,846,82\n" +
+                "2005,2,\"1,019\",846,82\n" +
+                "2005,3,1019,846,82";
+
+        UploadStatics uploadStatics = financeService.streamUploadSupportData(
+                new ByteArrayInputStream(fileContents.getBytes("EUC-KR")));
+
+        assertThat(uploadStatics.getResult()).isEqualTo(UploadResult.OK);
+        assertThat(uploadStatics.getRows()).isEqualTo(3);
+        assertThat(uploadStatics.getBanks()).isEqualTo(3);
+
+        verify(bankRepository, times(3)).save(any(Bank.class));
+        ArgumentCaptor<Iterable<Support>> savedSupports = ArgumentCaptor.forClass(Iterable.class);
+        verify(supportRepository, times(1)).saveAllInBatch(savedSupports.capture());
+        assertThat(savedSupports.getValue()).hasSize(9);
+    }
+
+    //1.5 빈 파일인 경우
+    @Test(
+            expected = WrongFormFileException.class
+    )
+    public void streamUploadSupportData_emptyFile() throws Exception {
+        financeService.streamUploadSupportData(new ByteArrayInputStream(new byte[0]));
+    }
+
+    //1.5.1 연도, 월이 숫자가 아니거나 월이 1 ~ 12 가 아닌 경우
+    @Test(
+            expected = WrongFormFileException.class
+    )
+    public void streamUploadSupportData_wrongMonth() throws Exception {
+        given(bankRepository.save(any(Bank.class))).willAnswer(this::savedBank);
+
+        String fileContents =
+                "연도,월,국민은행(억원)\n" +
+                "2005,1,846\n" +
+                "2005,13,846";
+
+        financeService.streamUploadSupportData(new ByteArrayInputStream(fileContents.getBytes("EUC-KR")));
+    }
+
+    //1.5.2 gzip 으로 압축된 파일은 압축을 풀면서 저장
+    @Test
+    public void streamUploadSupportData_gzipFile() throws Exception {
+        given(bankRepository.save(any(Bank.class))).willAnswer(this::savedBank);
+
+        String fileContents =
+                "연도,월,국민은행(억원),우리은행(억원)\n" +
+                "2005,1,846,82\n" +
+                "2005,2,\"1,000\",18";
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(fileContents.getBytes("EUC-KR"));
+        }
+
+        UploadStatics uploadStatics = financeService.streamUploadSupportData(
+                new ByteArrayInputStream(compressed.toByteArray()));
+
+        assertThat(uploadStatics.getRows()).isEqualTo(2);
+        assertThat(uploadStatics.getInserted()).isEqualTo(4);
+        assertThat(financeService.getSupportCube().getBank("국민은행")).isNotNull();
+    }
+
+    //1.5.3 압축 파일이 중간에 잘린 경우
+    @Test(
+            expected = WrongFormFileException.class
+    )
+    public void streamUploadSupportData_truncatedGzipFile() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write("연도,월,국민은행(억원)\n2005,1,846\n".getBytes("EUC-KR"));
+        }
+
+        byte[] truncated = Arrays.copyOf(compressed.toByteArray(), compressed.size() / 2);
+
+        financeService.streamUploadSupportData(new ByteArrayInputStream(truncated));
+    }
+
+    //1.6 업로드 된 데이터만 통계 큐브에 반영, 나머지 연도는 그대로
+    @Test
+    public void streamUploadSupportData_appendToSupportCube() throws Exception {
+
+        //기존 데이터 : 2004년
+        List<SupportSummary> savedSummaries = new ArrayList<>();
+        savedSummaries.add(summary(100L, "기존은행", "2004", "1", 10L));
+
+        given(supportRepository.summarizeByBankAndYearAndMonth()).willReturn(savedSummaries);
+        financeService.refreshSupportCube();
+
+        SupportCube.Cells savedCells = financeService.getSupportCube().getCells(2004, 100L);
+
+        //2005년 1, 2월 업로드
+        given(bankRepository.save(any(Bank.class))).willAnswer(this::savedBank);
+
+        String fileContents =
+                "연도,월,국민은행(억원),우리은행(억원)\n" +
+                "2005,1,846,82\n" +
+                "2005,2,\"1,000\",18";
+
+        financeService.streamUploadSupportData(new ByteArrayInputStream(fileContents.getBytes("EUC-KR")));
+
+        SupportCube cube = financeService.getSupportCube();
+
+        //전체 재집계 없음
+        verify(supportRepository, times(1)).summarizeByBankAndYearAndMonth();
+
+        assertThat(cube.getYears()).containsExactly(2004, 2005);
+        assertThat(cube.getCells(2004, 100L)).isSameAs(savedCells);
+
+        Bank kookmin = cube.getBank("국민은행");
+        assertThat(cube.getCells(2005, kookmin.getId()).getTotal()).isEqualTo(1846L);
+        assertThat(cube.getCells(2005, kookmin.getId()).getCount()).isEqualTo(2L);
+        assertThat(cube.getCells(2005, kookmin.getId()).getMax()).isEqualTo(1000L);
+        assertThat(cube.getCells(2005, kookmin.getId()).getTotal(1)).isEqualTo(846L);
+        assertThat(cube.getCells(2005, cube.getBank("우리은행").getId()).getTotal()).isEqualTo(100L);
+    }
+
+    //1.7 UPSERT, 금액이 바뀐 데이터만 저장하고 기존 금융기관 사용
+    @Test
+    public void streamUploadSupportData_upsertChangedOnly() throws Exception {
+
+        //기존 데이터 : 국민은행 2005년 1, 2월
+        Bank kookmin = new Bank(1L, "국민은행");
+        List<Bank> savedBanks = new ArrayList<>();
+        savedBanks.add(kookmin);
+        given(bankRepository.findAll()).willReturn(savedBanks);
+
+        List<SupportSummary> savedSummaries = new ArrayList<>();
+        savedSummaries.add(summary(1L, "국민은행", "2005", "1", 846L));
+        savedSummaries.add(summary(1L, "국민은행", "2005", "2", 800L));
+        given(supportRepository.summarizeByBankAndYearAndMonth()).willReturn(savedSummaries);
+        financeService.refreshSupportCube();
+
+        Support storedSupport = new Support(kookmin, 2005, 2, 800L);
+        List<Support> storedSupports = new ArrayList<>();
+        storedSupports.add(storedSupport);
+        given(supportRepository.findByBankAndYearAndMonth(any(Bank.class), eq(2005), eq(2)))
+                .willReturn(storedSupports);
+
+        //1월은 그대로, 2월은 수정, 3월은 추가
+        String fileContents =
+                "연도,월,국민은행(억원)\n" +
+                "2005,1,846\n" +
+                "2005,2,900\n" +
+                "2005,3,700";
+
+        UploadStatics uploadStatics = financeService.streamUploadSupportData(
+                new ByteArrayInputStream(fileContents.getBytes("EUC-KR")), UploadMode.UPSERT);
+
+        assertThat(uploadStatics.getRows()).isEqualTo(3);
+        assertThat(uploadStatics.getInserted()).isEqualTo(1);
+        assertThat(uploadStatics.getUpdated()).isEqualTo(1);
+        assertThat(uploadStatics.getUnchanged()).isEqualTo(1);
+
+        //기존 금융기관은 다시 저장하지 않음
+        verify(bankRepository, never()).save(any(Bank.class));
+
+        ArgumentCaptor<Iterable<Support>> savedSupports = ArgumentCaptor.forClass(Iterable.class);
+        verify(supportRepository, times(1)).saveAllInBatch(savedSupports.capture());
+        assertThat(savedSupports.getValue()).hasSize(2);
+        assertThat(savedSupports.getValue()).contains(storedSupport);
+        assertThat(storedSupport.getAmount()).isEqualTo(900L);
+
+        //통계 큐브는 해당 월만 교체
+        SupportCube.Cells cells = financeService.getSupportCube().getCells(2005, 1L);
+        assertThat(cells.getTotal()).isEqualTo(846L + 900L + 700L);
+        assertThat(cells.getCount()).isEqualTo(3L);
+        assertThat(cells.getTotal(2)).isEqualTo(900L);
+        assertThat(cells.getMin()).isEqualTo(700L);
+        assertThat(cells.getMax()).isEqualTo(900L);
+    }
+
+    //1.8 같은 파일을 다시 UPSERT 하면 저장하지 않음
+    @Test
+    public void streamUploadSupportData_upsertSameFileTwice() throws Exception {
+
+        given(bankRepository.save(any(Bank.class))).willAnswer(this::savedBank);
+
+        String fileContents =
+                "연도,월,국민은행(억원),우리은행(억원)\n" +
+                "2005,1,846,82\n" +
+                "2005,2,900,18";
+
+        financeService.streamUploadSupportData(
+                new ByteArrayInputStream(fileContents.getBytes("EUC-KR")), UploadMode.UPSERT);
+        UploadStatics uploadStatics = financeService.streamUploadSupportData(
+                new ByteArrayInputStream(fileContents.getBytes("EUC-KR")), UploadMode.UPSERT);
+
+        assertThat(uploadStatics.getInserted()).isEqualTo(0);
+        assertThat(uploadStatics.getUpdated()).isEqualTo(0);
+        assertThat(uploadStatics.getUnchanged()).isEqualTo(4);
+
+        verify(bankRepository, times(2)).save(any(Bank.class));
+        verify(supportRepository, times(1)).saveAllInBatch(any());
+        assertThat(financeService.getSupportCube().getCells(2005, 1L).getTotal()).isEqualTo(846L + 900L);
+    }
+
     //2. 전체 금융기관 목록 조회
     //2.1 정상적으로 조회되는 경우
     @Test
@@ -109,51 +328,100 @@ public class FinanceServiceTests {
         assertThat(banks.get(2).getBankName()).isEqualTo("금융기관3");
     }
 
+    //2.2 금융기관 목록은 캐시에서 조회, 업로드로 저장된 금융기관은 업로드가 끝난 뒤에 캐시에 추가
+    @Test
+    public void findAllBanks_cachedAndUpdatedByUpload() throws Exception {
+
+        //새 금융기관은 저장된 금융기관 다음 id
+        bankSequence.set(1L);
+        given(bankRepository.findAll()).willReturn(Collections.singletonList(new Bank(1L, "국민은행")));
+        given(bankRepository.save(any(Bank.class))).willAnswer(this::savedBank);
+
+        assertThat(financeService.findAllBanks()).extracting(Bank::getBankName).containsExactly("국민은행");
+        assertThat(financeService.findAllBanks()).extracting(Bank::getBankName).containsExactly("국민은행");
+
+        //이미 저장된 금융기관은 캐시에서 찾고, 새 금융기관만 저장
+        String fileContents =
+                "연도,월,국민은행(억원),우리은행(억원)\n" +
+                "2005,1,1019,82";
+        financeService.saveUploadSupportData(fileContents.getBytes("EUC-KR"));
+        verify(bankRepository, times(1)).save(any(Bank.class));
+
+        assertThat(financeService.findAllBanks()).extracting(Bank::getBankName).containsExactly("국민은행", "우리은행");
+        verify(bankRepository, times(1)).findAll();
+    }
+
+    //2.3 업로드가 실패하면 금융기관 캐시를 DB에서 다시 읽음
+    @Test
+    public void findAllBanks_reloadedAfterFailedUpload() throws Exception {
+
+        given(bankRepository.findAll()).willReturn(Collections.singletonList(new Bank(1L, "국민은행")));
+
+        financeService.findAllBanks();
+
+        String fileContents =
+                "연도,월,국민은행(억원)\n" +
+                "2005,13,1019";
+        try {
+            financeService.saveUploadSupportData(fileContents.getBytes("EUC-KR"));
+        } catch (WrongFormFileException e) {
+            //잘못된 월
+        }
+
+        financeService.findAllBanks();
+        verify(bankRepository, times(2)).findAll();
+    }
+
     //3. 특정 금융기관의 지원금 통계 조회 (연도별)
     //3.1 정상적으로 조회되는 경우
     @Test
     public void findSupportStaticsByBank_success(){
 
-        //데이터에서 리턴될 지원금 목록
-        Bank bank = new Bank("TEST");
-
-        List<Support> savedSupports = new ArrayList<>();
-
-        savedSupports.add(
-                new Support(
-                        bank,
-                        "2000",
-                        "1", BigDecimal.ONE)
-        );
-        savedSupports.add(
-                new Support(
-                        bank,
-                        "2000",
-                        "2", BigDecimal.TEN)
-        );
-        savedSupports.add(
-                new Support(
-                        bank,
-                        "2001",
-                        "1", BigDecimal.ZERO)
-        );
-        savedSupports.add(
-                new Support(
-                        bank,
-                        "2001",
-                        "2", BigDecimal.ONE)
-        );
-
-        given(supportRepository.findByBank(any(Bank.class))).willReturn(savedSupports);
+        //데이터에서 리턴될 연도, 월별 지원금 집계 목록
+        Bank bank = new Bank(1L, "TEST");
+
+        List<SupportSummary> savedSummaries = new ArrayList<>();
+
+        savedSummaries.add(summary(1L, "TEST", "2000", "1", 1L));
+        savedSummaries.add(summary(1L, "TEST", "2000", "2", 10L));
+        savedSummaries.add(summary(1L, "TEST", "2001", "1", 0L));
+        savedSummaries.add(summary(1L, "TEST", "2001", "2", 1L));
+
+        given(supportRepository.summarizeByBankAndYearAndMonth()).willReturn(savedSummaries);
+        financeService.refreshSupportCube();
 
         //지원금액 데이터 통계 조회 (연도별, 금융기관별) 서비스 테스트
-        Map<String, BankSupports> statics = financeService.findSupportStaticsByBank(bank);
+        Map<Integer, BankSupports> statics = financeService.findSupportStaticsByBank(bank);
 
         assertThat(statics.size()).isEqualTo(2);
-        assertThat(statics.get("2000")).isNotNull();
-        assertThat(statics.get("2001")).isNotNull();
-        assertThat(statics.get("2000").getSupportsTotal()).isEqualTo(BigDecimal.valueOf(11));
-        assertThat(statics.get("2001").getSupportsTotal()).isEqualTo(BigDecimal.ONE);
+        assertThat(statics.get(2000)).isNotNull();
+        assertThat(statics.get(2001)).isNotNull();
+        assertThat(statics.get(2000).getSupportsTotal()).isEqualTo(11L);
+        assertThat(statics.get(2001).getSupportsTotal()).isEqualTo(1L);
+    }
+
+    //3.2 금융기관명으로 조회, 같은 이름의 기관이 여럿이면 첫번째 기관만
+    @Test
+    public void findSupportStaticsByBankName_useFirstBank(){
+
+        List<SupportSummary> savedSummaries = new ArrayList<>();
+
+        savedSummaries.add(summary(2L, "TEST", "2000", "1", 10L));
+        savedSummaries.add(summary(2L, "TEST", "2000", "2", 90L));
+        savedSummaries.add(summary(1L, "TEST", "2000", "1", 1L));
+        savedSummaries.add(summary(1L, "TEST", "2000", "2", 10L));
+
+        given(supportRepository.summarizeByBankAndYearAndMonth()).willReturn(savedSummaries);
+        financeService.refreshSupportCube();
+
+        Map<Integer, BankSupports> statics = financeService.findSupportStaticsByBank("TEST");
+
+        assertThat(statics.size()).isEqualTo(1);
+        assertThat(statics.get(2000).getBank().getId()).isEqualTo(1L);
+        assertThat(statics.get(2000).getSupportsTotal()).isEqualTo(11L);
+        assertThat(statics.get(2000).getSupportsAverage()).isEqualTo(5.5);
+        assertThat(statics.get(2000).getSupportsMin()).isEqualTo(1L);
+        assertThat(statics.get(2000).getSupportsMax()).isEqualTo(10L);
     }
 
     //4. 지원금액 데이터 통계 조회 (연도별, 금융기관별)
@@ -161,93 +429,412 @@ public class FinanceServiceTests {
     @Test
     public void findSupportStatics_success(){
 
-        //데이터에서 리턴될 은행 목록
-        List<Bank> savedBanks = new ArrayList<>();
-
-        Bank bank1 = new Bank("금융기관1");
-        Bank bank2 = new Bank("금융기관2");
-        Bank bank3 = new Bank("금융기관3");
+        //데이터에서 리턴될 연도, 월별, 금융기관별 지원금 집계 목록
+        List<SupportSummary> savedSummaries = new ArrayList<>();
 
-        savedBanks.add(bank1);
-        savedBanks.add(bank2);
-        savedBanks.add(bank3);
+        for(long bankId = 1; bankId <= 3; bankId++){
+            String bankName = String.format("금융기관%d", bankId);
 
-        given(bankRepository.findAll()).willReturn(savedBanks);
+            savedSummaries.add(summary(bankId, bankName, "2000", "1", 1L));
+            savedSummaries.add(summary(bankId, bankName, "2000", "2", 10L));
+            savedSummaries.add(summary(bankId, bankName, "2001", "1", 0L));
+            savedSummaries.add(summary(bankId, bankName, "2001", "2", 1L));
+        }
 
-        //데이터에서 리턴될 지원금 목록
-        List<Support> savedSupports = new ArrayList<>();
-
-        savedSupports.add(
-                new Support(
-                        bank1,
-                        "2000",
-                        "1", BigDecimal.ONE)
-        );
-        savedSupports.add(
-                new Support(
-                        bank1,
-                        "2000",
-                        "2", BigDecimal.TEN)
-        );
-        savedSupports.add(
-                new Support(
-                        bank1,
-                        "2001",
-                        "1", BigDecimal.ZERO)
-        );
-        savedSupports.add(
-                new Support(
-                        bank1,
-                        "2001",
-                        "2", BigDecimal.ONE)
-        );
-
-        given(supportRepository.findByBank(any(Bank.class))).willReturn(savedSupports);
+        given(supportRepository.summarizeByBankAndYearAndMonth()).willReturn(savedSummaries);
+        financeService.refreshSupportCube();
 
         //지원금액 데이터 통계 조회 (연도별, 금융기관별) 서비스 테스트
-        Map<String, List<BankSupports>> statics = financeService.findSupportStatics();
+        Map<Integer, List<BankSupports>> statics = financeService.findSupportStatics();
 
         assertThat(statics.size()).isEqualTo(2);
-        assertThat(statics.get("2000").isEmpty()).isFalse();
-        assertThat(statics.get("2000").size()).isEqualTo(3);
-        assertThat(statics.get("2000").get(0).getSupports().size()).isEqualTo(2);
-        assertThat(statics.get("2000").get(1).getSupports().size()).isEqualTo(2);
-        assertThat(statics.get("2000").get(2).getSupports().size()).isEqualTo(2);
-        assertThat(statics.get("2001").isEmpty()).isFalse();
-        assertThat(statics.get("2001").size()).isEqualTo(3);
-        assertThat(statics.get("2001").get(0).getSupports().size()).isEqualTo(2);
-        assertThat(statics.get("2001").get(1).getSupports().size()).isEqualTo(2);
-        assertThat(statics.get("2001").get(2).getSupports().size()).isEqualTo(2);
+        assertThat(statics.get(2000).isEmpty()).isFalse();
+        assertThat(statics.get(2000).size()).isEqualTo(3);
+        assertThat(statics.get(2000).get(0).getSupportsCount()).isEqualTo(2);
+        assertThat(statics.get(2000).get(1).getSupportsCount()).isEqualTo(2);
+        assertThat(statics.get(2000).get(2).getSupportsCount()).isEqualTo(2);
+        assertThat(statics.get(2000).get(0).getSupportsTotal()).isEqualTo(11L);
+        assertThat(statics.get(2001).isEmpty()).isFalse();
+        assertThat(statics.get(2001).size()).isEqualTo(3);
+        assertThat(statics.get(2001).get(0).getSupportsCount()).isEqualTo(2);
+        assertThat(statics.get(2001).get(1).getSupportsCount()).isEqualTo(2);
+        assertThat(statics.get(2001).get(2).getSupportsCount()).isEqualTo(2);
+        assertThat(statics.get(2001).get(0).getSupportsTotal()).isEqualTo(1L);
+
+        //같은 금융기관은 같은 객체
+        assertThat(statics.get(2000).get(0).getBank()).isSameAs(statics.get(2001).get(0).getBank());
+    }
+
+    //4.1.1 조회 조건 (연도 범위, 월, 금융기관) 에 해당하는 연도, 금융기관, 월만 집계
+    @Test
+    public void findSupportStatics_filter(){
+
+        List<SupportSummary> savedSummaries = new ArrayList<>();
+
+        for(long bankId = 1; bankId <= 3; bankId++){
+            String bankName = String.format("금융기관%d", bankId);
+
+            for(int year = 2000; year <= 2005; year++){
+                savedSummaries.add(summary(bankId, bankName, String.valueOf(year), "1", 1L));
+                savedSummaries.add(summary(bankId, bankName, String.valueOf(year), "2", 10L));
+                savedSummaries.add(summary(bankId, bankName, String.valueOf(year), "3", 100L));
+            }
+        }
+        //2005년 금융기관3 은 1월 데이터만
+        savedSummaries.removeIf(summary -> summary.getBankId() == 3L && summary.getYear() == 2005 && summary.getMonth() > 1);
+
+        given(supportRepository.summarizeByBankAndYearAndMonth()).willReturn(savedSummaries);
+        financeService.refreshSupportCube();
+
+        Map<Integer, List<BankSupports>> statics = financeService.findSupportStatics(
+                new SupportFilter(2003, null, Arrays.asList(2, 3), Arrays.asList("금융기관1", "금융기관3")));
+
+        assertThat(statics.keySet()).containsExactly(2003, 2004, 2005);
+        assertThat(statics.get(2003).size()).isEqualTo(2);
+        assertThat(statics.get(2003).get(0).getBank().getBankName()).isEqualTo("금융기관1");
+        assertThat(statics.get(2003).get(0).getSupportsTotal()).isEqualTo(110L);
+        assertThat(statics.get(2003).get(0).getSupportsCount()).isEqualTo(2L);
+        assertThat(statics.get(2003).get(0).getSupportsMin()).isEqualTo(10L);
+        assertThat(statics.get(2003).get(0).getSupportsMax()).isEqualTo(100L);
+
+        //선택한 월에 데이터가 없는 금융기관은 제외
+        assertThat(statics.get(2005).size()).isEqualTo(1);
+        assertThat(statics.get(2005).get(0).getBank().getBankName()).isEqualTo("금융기관1");
+
+        Map<Integer, BankSupports> bankStatics = financeService.findSupportStaticsByBank(
+                "금융기관2", new SupportFilter(2001, 2002, null, null));
+
+        assertThat(bankStatics.keySet()).containsExactly(2001, 2002);
+        assertThat(bankStatics.get(2001).getSupportsTotal()).isEqualTo(111L);
+    }
+
+    //4.1.2 잘못된 월 조건
+    @Test(
+            expected = WrongParameterException.class
+    )
+    public void findSupportStatics_wrongMonth(){
+        financeService.findSupportStatics(new SupportFilter(null, null, Arrays.asList(0), null));
+    }
+
+    //4.2 통계 큐브, 월별 집계와 연간 집계
+    @Test
+    public void refreshSupportCube_buildMonthlyAndYearlyCells(){
+
+        List<SupportSummary> savedSummaries = new ArrayList<>();
+
+        savedSummaries.add(summary(1L, "TEST", "2000", "1", 1L));
+        savedSummaries.add(summary(1L, "TEST", "2000", "2", 10L));
+
+        given(supportRepository.summarizeByBankAndYearAndMonth()).willReturn(savedSummaries);
+        financeService.refreshSupportCube();
+
+        SupportCube.Cells cells = financeService.getSupportCube().getCells(2000, 1L);
+
+        assertThat(cells.getTotal()).isEqualTo(11L);
+        assertThat(cells.getCount()).isEqualTo(2L);
+        assertThat(cells.getMin()).isEqualTo(1L);
+        assertThat(cells.getMax()).isEqualTo(10L);
+        assertThat(cells.getTotal(2)).isEqualTo(10L);
+        assertThat(cells.getCount(3)).isEqualTo(0L);
+    }
+
+    //4.3 연도는 숫자 순서 (자릿수가 달라도 통계, 예측 시리즈 모두 오름차순)
+    @Test
+    public void refreshSupportCube_numericYearOrder(){
+
+        List<SupportSummary> savedSummaries = new ArrayList<>();
+
+        savedSummaries.add(summary(1L, "TEST", "10000", "1", 300L));
+        savedSummaries.add(summary(1L, "TEST", "999", "1", 100L));
+        savedSummaries.add(summary(1L, "TEST", "2005", "1", 200L));
+
+        given(supportRepository.summarizeByBankAndYearAndMonth()).willReturn(savedSummaries);
+        financeService.refreshSupportCube();
+
+        SupportCube cube = financeService.getSupportCube();
+        assertThat(cube.getYears()).containsExactly(999, 2005, 10000);
+        assertThat(financeService.findSupportStatics().keySet()).containsExactly(999, 2005, 10000);
+
+        SupportCube.Series series = cube.getSeries(1L, 1);
+        assertThat(series.getYear(0)).isEqualTo(999);
+        assertThat(series.getYear(2)).isEqualTo(10000);
+        assertThat(series.getAmounts()).containsExactly(100L, 200L, 300L);
+        assertThat(financeService.calcForecastYearlySupportForBank("TEST").get(0).getYear()).isEqualTo(10001);
     }
 
     //6. 특정 은행의 특정 달에 대해서 2018 년도 해당 달에 금융지원 금액을 예측
     @Test
     public void calcForcastMontlySupportForBank_success(){
-        //데이터에서 리턴될 은행 목록
-        List<Bank> savedBanks = new ArrayList<>();
-        Bank bank = new Bank("금융기관1");
-        savedBanks.add(bank);
-
-        //데이터에서 리턴될 지원금 목록
-        List<Support> savedSupports = new ArrayList<>();
-        savedSupports.add(new Support(bank, "2005","2",BigDecimal.ZERO));
-        savedSupports.add(new Support(bank, "2006","2",BigDecimal.ZERO));
-        savedSupports.add(new Support(bank, "2007","2",BigDecimal.ZERO));
-        savedSupports.add(new Support(bank, "2008","2",BigDecimal.ZERO));
-        savedSupports.add(new Support(bank, "2009","2",BigDecimal.ZERO));
-        savedSupports.add(new Support(bank, "2010","2",BigDecimal.ZERO));
-        savedSupports.add(new Support(bank, "2011","2",BigDecimal.ZERO));
-        savedSupports.add(new Support(bank, "2012","2",BigDecimal.ZERO));
-        savedSupports.add(new Support(bank, "2013","2",BigDecimal.ZERO));
-        savedSupports.add(new Support(bank, "2014","2",BigDecimal.ZERO));
-
-        given(bankRepository.findByBankName(anyString())).willReturn(savedBanks);
-        given(supportRepository.findByBankAndMonth(any(Bank.class), anyString())).willReturn(savedSupports);
+        //데이터에서 리턴될 연도, 월별 지원금 집계 목록
+        List<SupportSummary> savedSummaries = new ArrayList<>();
+        for(int year = 2005; year <= 2014; year++){
+            savedSummaries.add(summary(1L, "금융기관1", String.valueOf(year), "2", 0L));
+        }
+
+        given(supportRepository.summarizeByBankAndYearAndMonth()).willReturn(savedSummaries);
+        financeService.refreshSupportCube();
 
         Map<String, Object> forecastData = financeService.calcForcastMontlySupportForBank("금융기관1", "2");
 
+        assertThat(forecastData.get("bankId")).isEqualTo(1L);
         assertThat(forecastData.get("year")).isEqualTo("2015");
         assertThat(forecastData.get("month")).isEqualTo("2");
-        assertThat(forecastData.get("amount")).isEqualTo(BigDecimal.valueOf(0L));
+        assertThat(forecastData.get("amount")).isEqualTo(0L);
+    }
+
+    //6.1 데이터가 없는 금융기관, 월
+    @Test(
+            expected = NotFoundException.class
+    )
+    public void calcForcastMontlySupportForBank_noData(){
+        List<SupportSummary> savedSummaries = new ArrayList<>();
+        savedSummaries.add(summary(1L, "금융기관1", "2005", "2", 0L));
+
+        given(supportRepository.summarizeByBankAndYearAndMonth()).willReturn(savedSummaries);
+        financeService.refreshSupportCube();
+
+        financeService.calcForcastMontlySupportForBank("금융기관1", "3");
+    }
+
+    //6.2 한번 계산한 예측은 보관, 업로드로 바뀐 금융기관, 월만 다시 계산
+    @Test
+    public void calcForcastMontlySupportForBank_cacheUntilUploadTouchesSeries() throws Exception {
+        List<SupportSummary> savedSummaries = new ArrayList<>();
+        for(int year = 2005; year <= 2014; year++){
+            savedSummaries.add(summary(1L, "국민은행", String.valueOf(year), "1", 100L * (year - 2004)));
+            savedSummaries.add(summary(1L, "국민은행", String.valueOf(year), "2", 100L * (year - 2004)));
+        }
+
+        given(supportRepository.summarizeByBankAndYearAndMonth()).willReturn(savedSummaries);
+        financeService.refreshSupportCube();
+
+        SupportForecast january = financeService.calcForecastYearlySupportForBank("국민은행").get(0);
+        SupportForecast february = financeService.calcForecastYearlySupportForBank("국민은행").get(1);
+
+        assertThat(january.getYear()).isEqualTo(2015);
+        assertThat(january.getAmount()).isEqualTo(1100L);
+        assertThat(financeService.calcForecastYearlySupportForBank("국민은행").get(0)).isSameAs(january);
+
+        //2015년 1월 업로드
+        Bank kookmin = new Bank(1L, "국민은행");
+        List<Bank> savedBanks = new ArrayList<>();
+        savedBanks.add(kookmin);
+        given(bankRepository.findAll()).willReturn(savedBanks);
+
+        String fileContents =
+                "연도,월,국민은행(억원)\n" +
+                "2015,1,\"1,100\"";
+
+        financeService.streamUploadSupportData(new ByteArrayInputStream(fileContents.getBytes("EUC-KR")));
+
+        List<SupportForecast> forecasts = financeService.calcForecastYearlySupportForBank("국민은행");
+
+        assertThat(forecasts.get(0)).isNotSameAs(january);
+        assertThat(forecasts.get(0).getYear()).isEqualTo(2016);
+        assertThat(forecasts.get(0).getAmount()).isEqualTo(1200L);
+        assertThat(forecasts.get(1)).isSameAs(february);
+    }
+
+    //6.3 전체 금융기관의 차년도 월별 예측
+    @Test
+    public void calcForecastYearlySupportForAllBanks_success(){
+        List<SupportSummary> savedSummaries = new ArrayList<>();
+        for(int year = 2005; year <= 2014; year++){
+            for(int month = 1; month <= 12; month++){
+                savedSummaries.add(summary(1L, "국민은행", String.valueOf(year), String.valueOf(month), 10L));
+                savedSummaries.add(summary(2L, "우리은행", String.valueOf(year), String.valueOf(month), 20L));
+            }
+        }
+
+        given(supportRepository.summarizeByBankAndYearAndMonth()).willReturn(savedSummaries);
+        financeService.refreshSupportCube();
+
+        List<SupportForecast> forecasts = financeService.calcForecastYearlySupportForAllBanks();
+
+        assertThat(forecasts.size()).isEqualTo(24);
+        assertThat(forecasts.get(0).getBank().getBankName()).isEqualTo("국민은행");
+        assertThat(forecasts.get(0).getMonth()).isEqualTo(1);
+        assertThat(forecasts.get(0).getAmount()).isEqualTo(10L);
+        assertThat(forecasts.get(23).getBank().getBankName()).isEqualTo("우리은행");
+        assertThat(forecasts.get(23).getMonth()).isEqualTo(12);
+        assertThat(forecasts.get(23).getAmount()).isEqualTo(20L);
+    }
+
+    //6.4 전체 금융기관 x 월 병렬 예측, 병렬도와 상관없이 금융기관, 월 순서대로 전달
+    @Test
+    public void streamForecastYearlySupportForAllBanks_parallelInOrder(){
+        List<SupportSummary> savedSummaries = new ArrayList<>();
+        for(long bankId = 1; bankId <= 5; bankId++){
+            for(int year = 2005; year <= 2014; year++){
+                for(int month = 1; month <= 12; month++){
+                    savedSummaries.add(summary(bankId, "금융기관" + bankId, String.valueOf(year), String.valueOf(month),
+                            bankId * 100 + (year - 2005) * month));
+                }
+            }
+        }
+
+        given(supportRepository.summarizeByBankAndYearAndMonth()).willReturn(savedSummaries);
+
+        FinanceService sequentialService = new FinanceService(bankRepository, supportRepository, 1);
+        sequentialService.refreshSupportCube();
+
+        FinanceService parallelService = new FinanceService(bankRepository, supportRepository, 4);
+        parallelService.refreshSupportCube();
+
+        List<SupportForecast> sequentialForecasts = new ArrayList<>();
+        List<SupportForecast> parallelForecasts = new ArrayList<>();
+
+        assertThat(sequentialService.streamForecastYearlySupportForAllBanks(sequentialForecasts::add)).isEqualTo(60);
+        assertThat(parallelService.streamForecastYearlySupportForAllBanks(parallelForecasts::add)).isEqualTo(60);
+
+        for(int index = 0; index < 60; index++){
+            assertThat(parallelForecasts.get(index).getBank().getId()).isEqualTo(index / 12 + 1L);
+            assertThat(parallelForecasts.get(index).getMonth()).isEqualTo(index % 12 + 1);
+            assertThat(parallelForecasts.get(index).getYear()).isEqualTo(2015);
+            assertThat(parallelForecasts.get(index).getAmount()).isEqualTo(sequentialForecasts.get(index).getAmount());
+        }
+
+        sequentialService.shutdownPools();
+        parallelService.shutdownPools();
+    }
+
+    //6.5 예측 모델 지정, 기본 모델이 아닌 예측은 큐브에 보관하지 않음
+    @Test
+    public void calcForecastYearlySupportForBank_withModel(){
+        List<SupportSummary> savedSummaries = new ArrayList<>();
+        for(int year = 2005; year <= 2014; year++){
+            savedSummaries.add(summary(1L, "국민은행", String.valueOf(year), "1", 100L * (year - 2004)));
+        }
+
+        given(supportRepository.summarizeByBankAndYearAndMonth()).willReturn(savedSummaries);
+        financeService.refreshSupportCube();
+
+        SupportForecast linear = financeService.calcForecastYearlySupportForBank(
+                "국민은행", ForecastModels.of(ForecastMethod.LINEAR, 0, 0)).get(0);
+        SupportForecast naive = financeService.calcForecastYearlySupportForBank(
+                "국민은행", ForecastModels.of(ForecastMethod.SEASONAL_NAIVE, 0, 0)).get(0);
+        SupportForecast polynomial = financeService.calcForecastYearlySupportForBank("국민은행").get(0);
+
+        assertThat(linear.getModel()).isEqualTo("LINEAR");
+        assertThat(linear.getAmount()).isEqualTo(1100L);
+        assertThat(naive.getModel()).isEqualTo("SEASONAL_NAIVE");
+        assertThat(naive.getAmount()).isEqualTo(1000L);
+        assertThat(polynomial.getModel()).isEqualTo("POLYNOMIAL(3)");
+        assertThat(polynomial.getAmount()).isEqualTo(1100L);
+        assertThat(financeService.calcForecastYearlySupportForBank("국민은행").get(0)).isSameAs(polynomial);
+    }
+
+    //6.6 예측 모델 백테스트, 시리즈별로 학습 기간을 늘려가며 다음 연도 예측 오차 집계
+    @Test
+    public void backtestForecastModel_success(){
+        List<SupportSummary> savedSummaries = new ArrayList<>();
+        for(int year = 2005; year <= 2009; year++){
+            savedSummaries.add(summary(1L, "국민은행", String.valueOf(year), "1", 100L * (year - 2004)));
+            savedSummaries.add(summary(2L, "우리은행", String.valueOf(year), "1", 100L));
+        }
+        //학습 기간보다 짧은 시리즈는 평가에서 제외
+        savedSummaries.add(summary(2L, "우리은행", "2009", "2", 100L));
+
+        given(supportRepository.summarizeByBankAndYearAndMonth()).willReturn(savedSummaries);
+        financeService.refreshSupportCube();
+
+        //국민은행 100,200,300 -> 400 (오차 100), 100~400 -> 500 (오차 100), 우리은행 오차 0
+        ForecastBacktest naive = financeService.backtestForecastModel(
+                ForecastModels.of(ForecastMethod.SEASONAL_NAIVE, 0, 0), 3);
+
+        assertThat(naive.getModel()).isEqualTo("SEASONAL_NAIVE");
+        assertThat(naive.getSeries()).isEqualTo(2);
+        assertThat(naive.getForecasts()).isEqualTo(4);
+        assertThat(naive.getMae()).isEqualTo(50.0);
+        assertThat(naive.getRmse()).isCloseTo(Math.sqrt(5000), within(1e-9));
+        assertThat(naive.getMape()).isCloseTo((25.0 + 20.0) / 4, within(1e-9));
+
+        ForecastBacktest linear = financeService.backtestForecastModel(
+                ForecastModels.of(ForecastMethod.LINEAR, 0, 0), 3);
+
+        assertThat(linear.getForecasts()).isEqualTo(4);
+        assertThat(linear.getMae()).isCloseTo(0, within(1e-6));
+    }
+
+    //7. 스냅샷
+    //7.1 저장된 금융기관, 지원금액 데이터로 스냅샷 생성 (행은 금융기관 순번으로)
+    @Test
+    public void createSnapshot_success() {
+
+        given(supportRepository.findAllSupportValues()).willReturn(Arrays.asList(
+                new Object[]{3L, 2005, 1, 846L},
+                new Object[]{3L, 2005, 1, 10L},
+                new Object[]{7L, 2006, 12, 1019L}));
+        given(bankRepository.findAll()).willReturn(Arrays.asList(
+                new Bank(3L, "국민은행"), new Bank(5L, "우리은행"), new Bank(7L, "외환은행")));
+
+        SupportSnapshot snapshot = financeService.createSnapshot();
+
+        assertThat(snapshot.getBankNames()).containsExactly("국민은행", "우리은행", "외환은행");
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.getBankIndex(1)).isEqualTo(0);
+        assertThat(snapshot.getAmount(1)).isEqualTo(10L);
+        assertThat(snapshot.getBankIndex(2)).isEqualTo(2);
+        assertThat(snapshot.getYear(2)).isEqualTo(2006);
+        assertThat(snapshot.getMonth(2)).isEqualTo(12);
+    }
+
+    //7.2 DB 가 비어 있으면 스냅샷을 저장하고, 큐브는 DB 집계 없이 스냅샷에서 생성 (저장이 끝난 뒤에 교체)
+    @Test
+    public void restoreSnapshot_saveAndBuildCube() {
+
+        given(bankRepository.save(any(Bank.class))).willAnswer(this::savedBank);
+
+        SupportSnapshot.Builder builder = new SupportSnapshot.Builder();
+        int kookmin = builder.addBank("국민은행");
+        int keb = builder.addBank("외환은행");
+        builder.add(kookmin, 2005, 1, 846)
+                .add(kookmin, 2005, 1, 10)
+                .add(keb, 2006, 2, 1019);
+
+        //지원금액 데이터를 모두 저장한 뒤에 큐브 교체
+        assertThat(financeService.restoreSnapshot(builder.build(), () -> {
+            assertThat(financeService.getSupportCube().getCells(2005, 1L).getTotal()).isEqualTo(856L);
+            verify(supportRepository, times(1)).saveAllInBatch(any());
+        })).isTrue();
+
+        ArgumentCaptor<Iterable<Support>> supports = ArgumentCaptor.forClass(Iterable.class);
+        verify(supportRepository, times(1)).saveAllInBatch(supports.capture());
+        assertThat(supports.getValue()).hasSize(3);
+        verify(supportRepository, never()).summarizeByBankAndYearAndMonth();
+
+        assertThat(financeService.findAllBanks()).extracting(Bank::getBankName).containsExactly("국민은행", "외환은행");
+
+        SupportCube.Cells cells = financeService.getSupportCube().getCells(2005, 1L);
+        assertThat(cells.getTotal(1)).isEqualTo(856L);
+        assertThat(cells.getCount(1)).isEqualTo(2L);
+        assertThat(financeService.getSupportCube().getCells(2006, 2L).getTotal()).isEqualTo(1019L);
+    }
+
+    //7.3 DB 에 이미 데이터가 있으면 적재하지 않음
+    @Test
+    public void restoreSnapshot_skipWhenNotEmpty() {
+
+        given(bankRepository.findAll()).willReturn(Collections.singletonList(new Bank(1L, "국민은행")));
+
+        SupportSnapshot.Builder builder = new SupportSnapshot.Builder();
+        builder.add(builder.addBank("외환은행"), 2005, 1, 846);
+
+        assertThat(financeService.restoreSnapshot(builder.build())).isFalse();
+
+        verify(bankRepository, never()).save(any(Bank.class));
+        verify(supportRepository, never()).saveAllInBatch(any());
+    }
+
+    //저장된 금융기관 (id 부여)
+    private Bank savedBank(InvocationOnMock invocation){
+        Bank bank = invocation.getArgument(0);
+        return new Bank(bankSequence.incrementAndGet(), bank.getBankName());
+    }
+
+    //한 건짜리 월별 집계
+    private SupportSummary summary(Long bankId, String bankName, String year, String month, long amount){
+        return new SupportSummary(bankId, bankName, Integer.valueOf(year), Integer.valueOf(month),
+                amount, 1L, amount, amount);
     }
 }
@@ -0,0 +1,133 @@
+package com.finance.service;
+
+import com.finance.ingest.SupportSnapshot;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SupportSnapshotServiceTests {
+
+    @Rule
+    public TemporaryFolder snapshotDir = new TemporaryFolder();
+
+    @Mock
+    private FinanceService financeService;
+
+    private DatasetVersion datasetVersion;
+
+    private Path snapshotFile;
+
+    private SupportSnapshotService supportSnapshotService;
+
+    @Before
+    public void setUp() {
+        datasetVersion = new DatasetVersion();
+        snapshotFile = snapshotDir.getRoot().toPath().resolve("snapshot/support.snapshot");
+        supportSnapshotService = new SupportSnapshotService(financeService, datasetVersion, snapshotFile.toString());
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        supportSnapshotService.shutdownSnapshotExecutor();
+    }
+
+    //1. 업로드 후 스냅샷 파일을 쓰고, 기동 시 읽어서 적재 후 데이터셋 버전 증가
+    @Test
+    public void writeAndRestore() throws Exception {
+
+        SupportSnapshot.Builder builder = new SupportSnapshot.Builder();
+        builder.add(builder.addBank("국민은행"), 2005, 1, 846);
+        given(financeService.createSnapshot()).willReturn(builder.build());
+        given(financeService.restoreSnapshot(any(SupportSnapshot.class), any(Runnable.class)))
+                .willAnswer(invocation -> {
+                    ((Runnable) invocation.getArgument(1)).run();
+                    return true;
+                });
+
+        supportSnapshotService.scheduleWrite();
+        verify(financeService, timeout(5000)).createSnapshot();
+
+        //쓰기가 끝난 뒤 파일 확인 (같은 스레드에서 차례로 실행)
+        long version = datasetVersion.current().getVersion();
+        assertThat(supportSnapshotService.restoreSnapshot().get(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(snapshotFile).exists();
+        assertThat(snapshotFile.getParent().toFile().list()).containsExactly("support.snapshot");
+
+        ArgumentCaptor<SupportSnapshot> restored = ArgumentCaptor.forClass(SupportSnapshot.class);
+        verify(financeService).restoreSnapshot(restored.capture(), any(Runnable.class));
+        assertThat(restored.getValue().getBankNames()).containsExactly("국민은행");
+        assertThat(restored.getValue().getAmount(0)).isEqualTo(846L);
+        assertThat(datasetVersion.current().getVersion()).isEqualTo(version + 1);
+    }
+
+    //2. 스냅샷 파일이 없거나 깨진 경우 적재하지 않음
+    @Test
+    public void restore_missingOrCorrupted() throws Exception {
+
+        assertThat(supportSnapshotService.restoreSnapshot().get(5, TimeUnit.SECONDS)).isFalse();
+
+        Files.createDirectories(snapshotFile.getParent());
+        Files.write(snapshotFile, "연도,월\n".getBytes("EUC-KR"));
+        assertThat(supportSnapshotService.restoreSnapshot().get(5, TimeUnit.SECONDS)).isFalse();
+
+        verify(financeService, never()).restoreSnapshot(any(SupportSnapshot.class), any(Runnable.class));
+        assertThat(datasetVersion.current().getVersion()).isZero();
+    }
+
+    //2.1 적재가 실패하면 (큐브를 교체한 뒤라도) 데이터셋 버전을 다시 올려서 이전 응답이 304 로 쓰이지 않도록
+    @Test
+    public void restore_failed() throws Exception {
+
+        SupportSnapshot.Builder builder = new SupportSnapshot.Builder();
+        builder.add(builder.addBank("국민은행"), 2005, 1, 846);
+        given(financeService.createSnapshot()).willReturn(builder.build());
+        supportSnapshotService.writeSnapshot();
+
+        AtomicLong servedVersion = new AtomicLong();
+        given(financeService.restoreSnapshot(any(SupportSnapshot.class), any(Runnable.class)))
+                .willAnswer(invocation -> {
+                    ((Runnable) invocation.getArgument(1)).run();
+                    servedVersion.set(datasetVersion.current().getVersion());
+                    throw new IllegalStateException("restore failed");
+                });
+
+        assertThat(supportSnapshotService.restoreSnapshot().get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(datasetVersion.current().getVersion()).isGreaterThan(servedVersion.get());
+    }
+
+    //3. 스냅샷 파일을 설정하지 않으면 사용 안함
+    @Test
+    public void disabled() throws Exception {
+
+        SupportSnapshotService disabled = new SupportSnapshotService(financeService, datasetVersion, "");
+        try {
+            disabled.scheduleWrite();
+            disabled.writeSnapshot();
+
+            assertThat(disabled.restoreSnapshot().get()).isFalse();
+            verify(financeService, never()).createSnapshot();
+        } finally {
+            disabled.shutdownSnapshotExecutor();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.finance.service;
+
+import com.finance.exception.NotFoundException;
+import com.finance.exception.UploadJobRejectedException;
+import com.finance.exception.WrongFormFileException;
+import com.finance.exception.WrongParameterException;
+import com.finance.model.UploadJob;
+import com.finance.model.UploadStatics;
+import com.mixin.UploadJobStatus;
+import com.mixin.UploadMode;
+import com.mixin.UploadResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UploadJobServiceTests {
+
+    @Rule
+    public TemporaryFolder importDir = new TemporaryFolder();
+
+    @Mock
+    private FinanceService financeService;
+
+    @Mock
+    private SupportSnapshotService supportSnapshotService;
+
+    private DatasetVersion datasetVersion;
+
+    private UploadJobService uploadJobService;
+
+    @Before
+    public void setUp() {
+        datasetVersion = new DatasetVersion();
+        uploadJobService = new UploadJobService(financeService, datasetVersion, supportSnapshotService, 1, 1, "");
+    }
+
+    @After
+    public void tearDown() {
+        uploadJobService.shutdownUploadExecutor();
+    }
+
+    //1. 업로드 작업이 끝나면 결과, 진행된 행 수를 보관하고 임시파일 삭제, 데이터셋 버전 증가
+    @Test
+    public void submit_completed() throws Exception {
+
+        given(financeService.streamUploadSupportData(any(InputStream.class), eq(UploadMode.APPEND), any(LongConsumer.class)))
+                .willAnswer(invocation -> {
+                    LongConsumer rowsProgress = invocation.getArgument(2);
+                    rowsProgress.accept(6);
+                    rowsProgress.accept(12);
+                    return new UploadStatics(UploadResult.OK, 12, 9, 108, 0, 0, 1);
+                });
+
+        Path file = Files.createTempFile("upload-job-test-", ".csv");
+        long version = datasetVersion.current().getVersion();
+
+        UploadJob job = awaitFinished(uploadJobService.submit(file, UploadMode.APPEND));
+
+        //완료 상태가 보일 때는 이미 버전 증가
+        assertThat(datasetVersion.current().getVersion()).isEqualTo(version + 1);
+        assertThat(job.getStatus()).isEqualTo(UploadJobStatus.COMPLETED);
+        assertThat(job.getRows()).isEqualTo(12);
+        assertThat(job.getUploadStatics().getInserted()).isEqualTo(108);
+        assertThat(job.getError()).isNull();
+        assertThat(uploadJobService.findJob(job.getJobId())).isSameAs(job);
+
+        assertThat(file).doesNotExist();
+        verify(supportSnapshotService).scheduleWrite();
+    }
+
+    //2. 잘못된 형식의 파일이면 실패, 그때까지 진행된 행 수는 남고 데이터셋 버전 증가
+    @Test
+    public void submit_failed() throws Exception {
+
+        given(financeService.streamUploadSupportData(any(InputStream.class), eq(UploadMode.APPEND), any(LongConsumer.class)))
+                .willAnswer(invocation -> {
+                    ((LongConsumer) invocation.getArgument(2)).accept(3);
+                    throw new WrongFormFileException();
+                });
+
+        Path file = Files.createTempFile("upload-job-test-", ".csv");
+        long version = datasetVersion.current().getVersion();
+
+        UploadJob job = awaitFinished(uploadJobService.submit(file, UploadMode.APPEND));
+
+        assertThat(datasetVersion.current().getVersion()).isEqualTo(version + 1);
+        assertThat(job.getStatus()).isEqualTo(UploadJobStatus.FAILED);
+        assertThat(job.getRows()).isEqualTo(3);
+        assertThat(job.getError()).isEqualTo(UploadResult.WRONG_FORM);
+        assertThat(file).doesNotExist();
+        verify(supportSnapshotService, never()).scheduleWrite();
+    }
+
+    //3. 실행 중인 작업과 대기열이 가득 차면 받지 않고 임시파일 삭제
+    @Test
+    public void submit_rejectedWhenQueueFull() throws Exception {
+
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        given(financeService.streamUploadSupportData(any(InputStream.class), eq(UploadMode.APPEND), any(LongConsumer.class)))
+                .willAnswer(invocation -> {
+                    running.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return new UploadStatics(UploadResult.OK, 0, 0, 0, 0, 0, 0);
+                });
+
+        UploadJob first = uploadJobService.submit(Files.createTempFile("upload-job-test-", ".csv"), UploadMode.APPEND);
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        UploadJob queued = uploadJobService.submit(Files.createTempFile("upload-job-test-", ".csv"), UploadMode.APPEND);
+        assertThat(queued.getStatus()).isEqualTo(UploadJobStatus.QUEUED);
+
+        Path rejectedFile = Files.createTempFile("upload-job-test-", ".csv");
+        try {
+            uploadJobService.submit(rejectedFile, UploadMode.APPEND);
+            fail("rejected");
+        } catch (UploadJobRejectedException e) {
+            assertThat(rejectedFile).doesNotExist();
+        }
+
+        release.countDown();
+        assertThat(awaitFinished(first).getStatus()).isEqualTo(UploadJobStatus.COMPLETED);
+        assertThat(awaitFinished(queued).getStatus()).isEqualTo(UploadJobStatus.COMPLETED);
+    }
+
+    //4. 가져오기 폴더의 파일을 메모리 맵으로 읽어서 저장, 파일은 그대로 둠
+    @Test
+    public void submitImport_completed() throws Exception {
+
+        UploadJobService importService = new UploadJobService(
+                financeService, datasetVersion, supportSnapshotService, 1, 1, importDir.getRoot().getPath());
+
+        byte[] fileBytes = "연도,월,국민은행(억원)\n2005,1,846\n".getBytes("EUC-KR");
+        Path file = importDir.newFile("support.csv").toPath();
+        Files.write(file, fileBytes);
+
+        given(financeService.streamUploadSupportData(any(InputStream.class), eq(UploadMode.UPSERT), any(LongConsumer.class)))
+                .willAnswer(invocation -> {
+                    InputStream fileStream = invocation.getArgument(0);
+                    ByteArrayOutputStream read = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[4];
+                    int length;
+                    while ((length = fileStream.read(buffer)) > 0){
+                        read.write(buffer, 0, length);
+                    }
+
+                    assertThat(read.toByteArray()).isEqualTo(fileBytes);
+                    return new UploadStatics(UploadResult.OK, 1, 1, 1, 0, 0, 1);
+                });
+
+        try {
+            UploadJob job = awaitFinished(importService.submitImport("support.csv", UploadMode.UPSERT));
+
+            assertThat(job.getStatus()).isEqualTo(UploadJobStatus.COMPLETED);
+            assertThat(file).exists();
+        } finally {
+            importService.shutdownUploadExecutor();
+        }
+    }
+
+    //4.1 가져오기 폴더 밖의 경로, 없는 파일, 가져오기를 사용하지 않는 경우
+    @Test
+    public void submitImport_rejected() throws Exception {
+
+        UploadJobService importService = new UploadJobService(
+                financeService, datasetVersion, supportSnapshotService, 1, 1, importDir.newFolder("import").getPath());
+        importDir.newFile("outside.csv");
+
+        try {
+            assertThatThrownBy(() -> importService.submitImport("../outside.csv", UploadMode.APPEND))
+                    .isInstanceOf(WrongParameterException.class);
+            assertThatThrownBy(() -> importService.submitImport(importDir.getRoot().getPath() + "/outside.csv", UploadMode.APPEND))
+                    .isInstanceOf(WrongParameterException.class);
+            assertThatThrownBy(() -> importService.submitImport("missing.csv", UploadMode.APPEND))
+                    .isInstanceOf(NotFoundException.class);
+            assertThatThrownBy(() -> uploadJobService.submitImport("outside.csv", UploadMode.APPEND))
+                    .isInstanceOf(NotFoundException.class);
+        } finally {
+            importService.shutdownUploadExecutor();
+        }
+    }
+
+    private UploadJob awaitFinished(UploadJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+
+        while (!job.isFinished() && System.currentTimeMillis() < deadline){
+            Thread.sleep(10);
+        }
+
+        assertThat(job.isFinished()).isTrue();
+        return job;
+    }
+}